@@ -4,6 +4,7 @@ import javafx.application.Application;
 import javafx.stage.Stage;
 import invaders.engine.GameEngine;
 import invaders.engine.GameWindow;
+import invaders.singleton.DifficultyLevel;
 
 import java.util.Map;
 
@@ -15,6 +16,8 @@ public class App extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        // parse every difficulty up front, so the menu buttons start the game straight away
+        DifficultyLevel.loadAll();
         GameWindow window = new GameWindow(primaryStage);
         primaryStage.setTitle("Space Invaders");
     }
@@ -0,0 +1,44 @@
+package invaders;
+
+import invaders.batch.BatchRunner;
+import invaders.batch.BatchStatistics;
+import invaders.batch.GameResult;
+import invaders.singleton.DifficultyLevel;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays automated games for each difficulty on all cores and prints survival, score and speed statistics.
+ * Usage: BatchApp [games per difficulty] [max ticks per game] [threads] [difficulties...]
+ */
+public class BatchApp {
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 60L * 120;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String[] difficulties = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[]{"easy", "medium", "hard"};
+
+        // keep config parsing and level generation out of the timings
+        DifficultyLevel.loadAll(difficulties);
+        BatchRunner runner = new BatchRunner(threads, maxTicks);
+        System.out.printf("%d games per difficulty, at most %d ticks each, %d threads%n", games, maxTicks, threads);
+        for (String difficulty : difficulties) {
+            long start = System.nanoTime();
+            List<GameResult> results = runner.run(difficulty, games, 0);
+            BatchStatistics statistics = new BatchStatistics(results, (System.nanoTime() - start) / 1_000_000_000.0);
+
+            System.out.printf("%s:%n", difficulty);
+            System.out.printf("  survival: mean %.1fs, p10 %.1fs, median %.1fs, p90 %.1fs, survived %d/%d%n",
+                    statistics.getMeanSurvivalSeconds(), statistics.getSurvivalSecondsPercentile(10),
+                    statistics.getSurvivalSecondsPercentile(50), statistics.getSurvivalSecondsPercentile(90),
+                    statistics.getSurvivors(), statistics.getGames());
+            System.out.printf("  score: mean %.1f, p10 %.0f, median %.0f, p90 %.0f, max %.0f%n",
+                    statistics.getMeanScore(), statistics.getScorePercentile(10), statistics.getScorePercentile(50),
+                    statistics.getScorePercentile(90), statistics.getScorePercentile(100));
+            System.out.printf("  ticks/sec: %.0f overall, %.0f per game%n",
+                    statistics.getTicksPerSecond(), statistics.getMeanGameTicksPerSecond());
+        }
+    }
+}
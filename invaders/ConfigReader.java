@@ -1,61 +1,62 @@
 package invaders;
 
+import invaders.config.BunkerSpec;
+import invaders.config.EnemySpec;
+import invaders.config.GameConfig;
+import invaders.config.PlayerConfig;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
-import java.sql.Statement;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Reads a JSON config file into a typed GameConfig. Keeps no state, so configs can be read on several threads at once.
+ */
 public class ConfigReader {
-    private static JSONObject gameInfo;
-    private static JSONObject playerInfo;
-    private static JSONArray bunkersInfo;
-    private static JSONArray enemiesInfo;
 
-    public static JSONObject parse(String configPath) {
-        JSONParser parser = new JSONParser();
-        JSONObject configObject = null;
-        try {
-            configObject = (JSONObject) parser.parse(new FileReader(configPath));
+    private ConfigReader() {}
+
+    public static GameConfig read(String configPath) {
+        try (Reader reader = new FileReader(configPath)) {
+            JSONObject configObject = (JSONObject) new JSONParser().parse(reader);
 
             // Reading game section
-            gameInfo = (JSONObject) configObject.get("Game");
+            JSONObject size = (JSONObject) ((JSONObject) configObject.get("Game")).get("size");
 
             // Reading player section
-            playerInfo = (JSONObject) configObject.get("Player");
+            JSONObject playerInfo = (JSONObject) configObject.get("Player");
+            JSONObject playerPosition = (JSONObject) playerInfo.get("position");
+            PlayerConfig player = new PlayerConfig(intOf(playerPosition, "x"), intOf(playerPosition, "y"),
+                    intOf(playerInfo, "lives"), intOf(playerInfo, "speed"), (String) playerInfo.get("colour"));
 
             // Reading bunker section
-            bunkersInfo = (JSONArray) configObject.get("Bunkers");
+            List<BunkerSpec> bunkers = new ArrayList<>();
+            for (Object each : (JSONArray) configObject.get("Bunkers")) {
+                JSONObject position = (JSONObject) ((JSONObject) each).get("position");
+                JSONObject bunkerSize = (JSONObject) ((JSONObject) each).get("size");
+                bunkers.add(new BunkerSpec(intOf(position, "x"), intOf(position, "y"), intOf(bunkerSize, "x"), intOf(bunkerSize, "y")));
+            }
 
             // Reading enemies section
-            enemiesInfo = (JSONArray) configObject.get("Enemies");
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } catch (ParseException e) {
-            e.printStackTrace();
+            List<EnemySpec> enemies = new ArrayList<>();
+            for (Object each : (JSONArray) configObject.get("Enemies")) {
+                JSONObject position = (JSONObject) ((JSONObject) each).get("position");
+                enemies.add(new EnemySpec(intOf(position, "x"), intOf(position, "y"), (String) ((JSONObject) each).get("projectile")));
+            }
+
+            return new GameConfig(intOf(size, "x"), intOf(size, "y"), player, bunkers, enemies);
+        } catch (IOException | ParseException | ClassCastException | NullPointerException e) {
+            throw new IllegalStateException("Could not read config " + configPath, e);
         }
-        return configObject;
-    }
-
-    public static JSONObject getGameInfo() {
-        return gameInfo;
-    }
-
-    public static JSONObject getPlayerInfo() {
-        return playerInfo;
-    }
-
-    public static JSONArray getBunkersInfo() {
-        return bunkersInfo;
     }
 
-    public static JSONArray getEnemiesInfo() {
-        return enemiesInfo;
+    private static int intOf(JSONObject object, String key) {
+        return ((Long) object.get(key)).intValue();
     }
-}
\ No newline at end of file
+}
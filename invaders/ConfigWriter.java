@@ -0,0 +1,54 @@
+package invaders;
+
+import invaders.config.BunkerSpec;
+import invaders.config.EnemySpec;
+import invaders.config.GameConfig;
+import invaders.config.PlayerConfig;
+import org.json.simple.JSONValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a GameConfig as JSON that ConfigReader reads back. The sections come in the same order as in the shipped
+ * configs, with one bunker or enemy per line so generated files with thousands of them stay readable.
+ * Strings go through JSONValue, so quotes and backslashes in them are escaped the way the parser expects.
+ */
+public class ConfigWriter {
+
+    private ConfigWriter() {}
+
+    public static void write(GameConfig config, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            PlayerConfig player = config.getPlayer();
+            writer.write(String.format("{%n"));
+            writer.write(String.format(" \"Game\": {\"size\": {\"x\": %d, \"y\": %d}},%n", config.getWidth(), config.getHeight()));
+            writer.write(String.format(" \"Player\": {\"colour\": %s, \"speed\": %d, \"lives\": %d, \"position\": {\"x\": %d, \"y\": %d}},%n",
+                    JSONValue.toJSONString(player.getColour()), player.getSpeed(), player.getLives(), player.getX(), player.getY()));
+
+            writer.write(String.format(" \"Bunkers\": [%n"));
+            for (int i = 0; i < config.getBunkers().size(); i++) {
+                BunkerSpec bunker = config.getBunkers().get(i);
+                writer.write(String.format("  {\"position\": {\"x\": %d, \"y\": %d}, \"size\": {\"x\": %d, \"y\": %d}}%s%n",
+                        bunker.getX(), bunker.getY(), bunker.getWidth(), bunker.getHeight(), separator(i, config.getBunkers().size())));
+            }
+            writer.write(String.format(" ],%n"));
+
+            writer.write(String.format(" \"Enemies\": [%n"));
+            for (int i = 0; i < config.getEnemies().size(); i++) {
+                EnemySpec enemy = config.getEnemies().get(i);
+                writer.write(String.format("  {\"position\": {\"x\": %d, \"y\": %d}, \"projectile\": %s}%s%n",
+                        enemy.getX(), enemy.getY(), JSONValue.toJSONString(enemy.getProjectile()), separator(i, config.getEnemies().size())));
+            }
+            writer.write(String.format(" ]%n"));
+            writer.write(String.format("}%n"));
+        }
+    }
+
+    private static String separator(int index, int count) {
+        return index < count - 1 ? "," : "";
+    }
+}
@@ -0,0 +1,31 @@
+package invaders;
+
+import invaders.engine.GameEngine;
+
+/**
+ * Runs the simulation without a window or the JavaFX toolkit.
+ * Usage: HeadlessApp [difficulty] [ticks] [seed]
+ * The difficulty can also be a stress scenario, e.g. stress_10k.
+ */
+public class HeadlessApp {
+
+    public static void main(String[] args) {
+        String difficulty = args.length > 0 ? args[0] : "easy";
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        GameEngine engine = args.length > 2 ? new GameEngine(difficulty, Long.parseLong(args[2])) : new GameEngine(difficulty);
+
+        long start = System.nanoTime();
+        int tick = 0;
+        while (tick < ticks && engine.getPlayer().isAlive()) {
+            engine.update();
+            tick++;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("difficulty: %s, seed: %d%n", difficulty, engine.getSeed());
+        System.out.printf("ticks: %d (%.1f simulated seconds)%n", tick, (double) tick / GameEngine.TICKS_PER_SECOND);
+        System.out.printf("ticks/sec: %.0f%n", tick / seconds);
+        System.out.printf("score: %d, player alive: %b, objects left: %d%n", engine.getScore(), engine.getPlayer().isAlive(), engine.getRenderables().size());
+    }
+}
@@ -0,0 +1,56 @@
+package invaders;
+
+import invaders.engine.GameEngine;
+import invaders.replay.InputReplay;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Replays a session recorded with -Dinvaders.record=<file> in a headless engine, as fast as it can.
+ * Usage: ReplayApp <recording>
+ */
+public class ReplayApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayApp <recording>");
+            System.exit(1);
+        }
+
+        try (InputReplay replay = new InputReplay(Paths.get(args[0]))) {
+            if (replay.getTickRate() != GameEngine.TICKS_PER_SECOND) {
+                // inputs are stored by tick, so a different rate replays them at different times
+                System.err.printf("Recorded at %d ticks/sec but running at %d, start with -Dinvaders.tickRate=%d%n",
+                        replay.getTickRate(), GameEngine.TICKS_PER_SECOND, replay.getTickRate());
+            }
+            GameEngine engine = new GameEngine(replay.getDifficulty(), replay.getSeed());
+
+            long start = System.nanoTime();
+            int inputs = 0;
+            while (replay.next()) {
+                while (engine.getTick() < replay.getTick()) {
+                    engine.update();
+                }
+                engine.applyInput(replay.getInput());
+                inputs++;
+            }
+            // a finished recording also knows how long the session went on after the last input
+            while (replay.isFinished() && engine.getTick() < replay.getTick()) {
+                engine.update();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("difficulty: %s, seed: %d%n", replay.getDifficulty(), replay.getSeed());
+            System.out.printf("ticks: %d (%.1f simulated seconds), inputs: %d%n", engine.getTick(), (double) engine.getTick() / GameEngine.TICKS_PER_SECOND, inputs);
+            System.out.printf("ticks/sec: %.0f%n", engine.getTick() / seconds);
+            System.out.printf("score: %d, player alive: %b%n", engine.getScore(), engine.getPlayer().isAlive());
+            if (replay.isFinished()) {
+                System.out.printf("recorded score: %d (%s)%n", replay.getFinalScore(),
+                        replay.getFinalScore() == engine.getScore() ? "matches" : "DIFFERS");
+            } else {
+                System.out.println("recording was cut off, replayed up to its last input");
+            }
+        }
+    }
+}
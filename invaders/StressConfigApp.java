@@ -0,0 +1,50 @@
+package invaders;
+
+import invaders.config.GameConfig;
+import invaders.config.LevelGenerator;
+import invaders.config.StressScenario;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes generated level configs as config_<name>.json, which DifficultyLevel then loads by name.
+ * Usage: StressConfigApp [directory]  writes every stress scenario
+ *        StressConfigApp directory name enemies bunkers fastShare width height [seed]  writes one custom level
+ */
+public class StressConfigApp {
+
+    private static final String USAGE = "Usage: StressConfigApp [directory]\n"
+            + "       StressConfigApp directory name enemies bunkers fastShare width height [seed]";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1 && args.length < 7) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        Path directory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+        Files.createDirectories(directory);
+
+        if (args.length > 1) {
+            String name = args[1];
+            GameConfig config = LevelGenerator.generate(Integer.parseInt(args[5]), Integer.parseInt(args[6]),
+                    Integer.parseInt(args[2]), Integer.parseInt(args[3]), Double.parseDouble(args[4]),
+                    args.length > 7 ? Long.parseLong(args[7]) : 2201);
+            write(directory, name, config);
+            return;
+        }
+
+        for (StressScenario scenario : StressScenario.values()) {
+            write(directory, scenario.getName(), scenario.generate());
+        }
+    }
+
+    private static void write(Path directory, String name, GameConfig config) throws IOException {
+        Path path = directory.resolve("config_" + name + ".json");
+        ConfigWriter.write(config, path);
+        System.out.printf("%s: %d enemies, %d bunkers, %dx%d%n", path, config.getEnemies().size(), config.getBunkers().size(),
+                config.getWidth(), config.getHeight());
+    }
+}
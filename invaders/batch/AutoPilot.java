@@ -0,0 +1,51 @@
+package invaders.batch;
+
+import invaders.engine.GameEngine;
+import invaders.engine.GameInput;
+import invaders.gameobject.Enemy;
+import invaders.gameobject.EnemyFormation;
+
+/**
+ * A simple scripted player for automated games: it keeps under the lowest living enemy and shoots whenever it can.
+ * It only looks at the engine, so given the engine's seed it plays the same game every time.
+ */
+public class AutoPilot {
+    // how far off the target the player may be before it moves
+    private static final double TOLERANCE = 4;
+
+    private boolean left;
+    private boolean right;
+
+    /**
+     * Decides on this tick's inputs and applies them to the engine
+     */
+    public void play(GameEngine engine) {
+        // only the lowest enemy of each column can be the lowest of all
+        EnemyFormation formation = engine.getFormation();
+        Enemy target = null;
+        for (int column = 0; column < formation.getColumnCount(); column++) {
+            Enemy enemy = formation.getLowest(column);
+            if (enemy != null && enemy.isAlive()
+                    && (target == null || enemy.getPosition().getY() > target.getPosition().getY())) {
+                target = enemy;
+            }
+        }
+
+        double playerCentre = engine.getPlayer().getPosition().getX() + engine.getPlayer().getWidth() / 2;
+        double targetCentre = target == null ? playerCentre : target.getPosition().getX() + target.getWidth() / 2;
+        steer(engine, targetCentre < playerCentre - TOLERANCE, targetCentre > playerCentre + TOLERANCE);
+
+        engine.applyInput(GameInput.SHOOT);
+    }
+
+    private void steer(GameEngine engine, boolean goLeft, boolean goRight) {
+        if (goLeft != left) {
+            engine.applyInput(goLeft ? GameInput.LEFT_PRESSED : GameInput.LEFT_RELEASED);
+            left = goLeft;
+        }
+        if (goRight != right) {
+            engine.applyInput(goRight ? GameInput.RIGHT_PRESSED : GameInput.RIGHT_RELEASED);
+            right = goRight;
+        }
+    }
+}
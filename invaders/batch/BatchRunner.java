@@ -0,0 +1,92 @@
+package invaders.batch;
+
+import invaders.engine.GameEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many automated games of one difficulty in parallel on a fork-join pool.
+ * Every game has its own GameEngine (and with it its own event bus, projectile pools and random generator)
+ * and runs on a single thread from start to end, so the games share nothing but the parsed config.
+ * Game i is seeded with baseSeed + i, so a batch can be re-run and any single game replayed.
+ */
+public class BatchRunner {
+    private final int parallelism;
+    private final long maxTicks;
+
+    /**
+     * @param parallelism how many games run at the same time, normally the number of cores
+     * @param maxTicks a game that is still going after this many ticks is stopped and counts as survived
+     */
+    public BatchRunner(int parallelism, long maxTicks) {
+        if (parallelism <= 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("Parallelism and tick limit must be positive!");
+        }
+        this.parallelism = parallelism;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Plays the games and waits for all of them
+     * @return the results in seed order
+     */
+    public List<GameResult> run(String difficulty, int games, long baseSeed) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            GameResult[] results = new GameResult[games];
+            pool.invoke(new Games(difficulty, baseSeed, results, 0, games));
+            return new ArrayList<>(Arrays.asList(results));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game until the player dies or the tick limit is reached
+     */
+    public static GameResult play(String difficulty, long seed, long maxTicks) {
+        long start = System.nanoTime();
+        GameEngine engine = new GameEngine(difficulty, seed);
+        AutoPilot pilot = new AutoPilot();
+        while (engine.getTick() < maxTicks && engine.getPlayer().isAlive()) {
+            pilot.play(engine);
+            engine.update();
+        }
+        return new GameResult(difficulty, seed, engine.getTick(), engine.getScore(), engine.getPlayer().isAlive(),
+                System.nanoTime() - start);
+    }
+
+    // splits the range of games in halves until each task plays one game
+    private class Games extends RecursiveTask<Void> {
+        private final String difficulty;
+        private final long baseSeed;
+        private final GameResult[] results;
+        private final int from;
+        private final int to;
+
+        Games(String difficulty, long baseSeed, GameResult[] results, int from, int to) {
+            this.difficulty = difficulty;
+            this.baseSeed = baseSeed;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results[from] = play(difficulty, baseSeed + from, maxTicks);
+                }
+                return null;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Games(difficulty, baseSeed, results, from, middle), new Games(difficulty, baseSeed, results, middle, to));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package invaders.batch;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Survival time, score and simulation speed over a batch of games
+ */
+public final class BatchStatistics {
+    private final int games;
+    private final int survivors;
+    private final double[] survivalSeconds;
+    private final double[] scores;
+    private final long totalTicks;
+    private final double wallSeconds;
+    private final double meanGameTicksPerSecond;
+
+    /**
+     * @param wallSeconds how long the whole batch took, used for the overall ticks/sec
+     */
+    public BatchStatistics(List<GameResult> results, double wallSeconds) {
+        this.games = results.size();
+        this.survivalSeconds = new double[games];
+        this.scores = new double[games];
+        this.wallSeconds = wallSeconds;
+        int alive = 0;
+        long ticks = 0;
+        double ticksPerSecond = 0;
+        for (int i = 0; i < games; i++) {
+            GameResult result = results.get(i);
+            survivalSeconds[i] = result.getSurvivalSeconds();
+            scores[i] = result.getScore();
+            ticks += result.getTicks();
+            ticksPerSecond += result.getTicksPerSecond();
+            if (result.isPlayerAlive()) {
+                alive++;
+            }
+        }
+        Arrays.sort(survivalSeconds);
+        Arrays.sort(scores);
+        this.survivors = alive;
+        this.totalTicks = ticks;
+        this.meanGameTicksPerSecond = games == 0 ? 0 : ticksPerSecond / games;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getSurvivors() {
+        return survivors;
+    }
+
+    public double getMeanSurvivalSeconds() {
+        return mean(survivalSeconds);
+    }
+
+    /**
+     * @param p percentile in [0, 100]
+     */
+    public double getSurvivalSecondsPercentile(double p) {
+        return percentile(survivalSeconds, p);
+    }
+
+    public double getMeanScore() {
+        return mean(scores);
+    }
+
+    /**
+     * @param p percentile in [0, 100]
+     */
+    public double getScorePercentile(double p) {
+        return percentile(scores, p);
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * @return ticks simulated per wall-clock second by the whole batch, across all threads
+     */
+    public double getTicksPerSecond() {
+        return wallSeconds == 0 ? 0 : totalTicks / wallSeconds;
+    }
+
+    /**
+     * @return the average speed of a single game
+     */
+    public double getMeanGameTicksPerSecond() {
+        return meanGameTicksPerSecond;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+
+    // nearest-rank percentile of sorted values
+    private static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+}
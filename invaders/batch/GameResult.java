@@ -0,0 +1,62 @@
+package invaders.batch;
+
+import invaders.engine.GameEngine;
+
+/**
+ * The outcome of one automated game
+ */
+public final class GameResult {
+    private final String difficulty;
+    private final long seed;
+    private final long ticks;
+    private final int score;
+    private final boolean playerAlive;
+    private final long nanos;
+
+    GameResult(String difficulty, long seed, long ticks, int score, boolean playerAlive, long nanos) {
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.ticks = ticks;
+        this.score = score;
+        this.playerAlive = playerAlive;
+        this.nanos = nanos;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return simulated seconds until the player died, or until the game was stopped if it survived
+     */
+    public double getSurvivalSeconds() {
+        return (double) ticks / GameEngine.TICKS_PER_SECOND;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+
+    /**
+     * @return wall-clock time the game took to simulate
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getTicksPerSecond() {
+        return nanos == 0 ? 0 : ticks * 1_000_000_000.0 / nanos;
+    }
+}
@@ -1,11 +1,9 @@
 package invaders.builder;
 
-import invaders.ConfigReader;
 import invaders.gameobject.Bunker;
 import invaders.gameobject.GameObject;
 import invaders.physics.Vector2D;
-import javafx.scene.image.Image;
-import org.json.simple.JSONObject;
+import invaders.rendering.Sprite;
 
 public class BunkerBuilder extends Builder{
     private Bunker bunker;
@@ -30,9 +28,9 @@ public class BunkerBuilder extends Builder{
         bunker = new Bunker();
     }
 
-    public void buildImage(Image image) {
-        bunker.setImage(image);
-        bunker.setWidth((int) image.getWidth());
-        bunker.setHeight((int) image.getHeight());
+    public void buildSprite(Sprite sprite) {
+        bunker.setSprite(sprite);
+        bunker.setWidth((int) sprite.getWidth());
+        bunker.setHeight((int) sprite.getHeight());
     }
 }
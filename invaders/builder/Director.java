@@ -1,43 +1,43 @@
 package invaders.builder;
 
-import invaders.ConfigReader;
+import invaders.config.BunkerSpec;
+import invaders.config.EnemySpec;
 import invaders.engine.GameEngine;
 import invaders.gameobject.Bunker;
 import invaders.gameobject.Enemy;
 import invaders.gameobject.GameObject;
 import invaders.physics.Vector2D;
-import javafx.scene.image.Image;
-import org.json.simple.JSONObject;
-
-import java.io.File;
+import invaders.rendering.Sprite;
 
 public class Director {
 
-    public Bunker constructBunker(BunkerBuilder builder, JSONObject eachBunkerInfo){
-        int x = ((Long)((JSONObject)eachBunkerInfo.get("position")).get("x")).intValue();
-        int y = ((Long)((JSONObject)eachBunkerInfo.get("position")).get("y")).intValue();
-        int width = ((Long)((JSONObject)eachBunkerInfo.get("size")).get("x")).intValue();
-        int height = ((Long)((JSONObject)eachBunkerInfo.get("size")).get("y")).intValue();
+    public Bunker constructBunker(BunkerBuilder builder, BunkerSpec eachBunkerInfo){
+        int x = eachBunkerInfo.getX();
+        int y = eachBunkerInfo.getY();
+        int width = eachBunkerInfo.getWidth();
+        int height = eachBunkerInfo.getHeight();
 
         builder.reset();
         builder.buildPosition(new Vector2D(x,y));
-        builder.buildImage(new Image(new File("src/main/resources/bunkerGreen.png").toURI().toString(), width, height, true, true));
+        builder.buildSprite(new Sprite("src/main/resources/bunkerGreen.png", width, height));
         builder.buildLives(3);
 
         return (Bunker) builder.createGameObject();
     }
 
-    public Enemy constructEnemy(GameEngine engine,EnemyBuilder builder, JSONObject eachEnemyInfo){
-        int x = ((Long)((JSONObject)eachEnemyInfo.get("position")).get("x")).intValue();
-        int y = ((Long)((JSONObject)eachEnemyInfo.get("position")).get("y")).intValue();
-        String strategy = (String)(eachEnemyInfo.get("projectile"));
+    public Enemy constructEnemy(GameEngine engine,EnemyBuilder builder, EnemySpec eachEnemyInfo){
+        int x = eachEnemyInfo.getX();
+        int y = eachEnemyInfo.getY();
+        String strategy = eachEnemyInfo.getProjectile();
 
         builder.reset();
         builder.buildPosition(new Vector2D(x,y));
         builder.buildLives(1);
         builder.buildImageAndStrategy(strategy);
 
-        return (Enemy) builder.createGameObject();
+        Enemy enemy = (Enemy) builder.createGameObject();
+        enemy.setEventBus(engine.getEventBus());
+        return enemy;
 
     }
 }
@@ -3,13 +3,16 @@ package invaders.builder;
 import invaders.gameobject.Enemy;
 import invaders.gameobject.GameObject;
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.FastProjectileStrategy;
 import invaders.strategy.SlowProjectileStrategy;
-import javafx.scene.image.Image;
-
-import java.io.File;
 
 public class EnemyBuilder extends Builder{
+    private static final Sprite FAST_ALIEN = new Sprite("src/main/resources/fast_alien.png", 20, 20);
+    private static final Sprite FAST_ALIEN_SHOT = new Sprite("src/main/resources/alien_shot_fast.png", 10, 10);
+    private static final Sprite SLOW_ALIEN = new Sprite("src/main/resources/slow_alien.png", 20, 20);
+    private static final Sprite SLOW_ALIEN_SHOT = new Sprite("src/main/resources/alien_shot_slow.png", 10, 10);
+
     private Enemy enemy;
 
     @Override
@@ -35,16 +38,16 @@ public class EnemyBuilder extends Builder{
     public void buildImageAndStrategy(String strategy){
         if(strategy.equals("fast_straight")){
             enemy.setProjectileStrategy(new FastProjectileStrategy());
-            enemy.setImage(new Image(new File("src/main/resources/fast_alien.png").toURI().toString(), 20, 20, true, true));
-            enemy.setProjectileImage(new Image(new File("src/main/resources/alien_shot_fast.png").toURI().toString(), 10, 10, true, true));
+            enemy.setSprite(FAST_ALIEN);
+            enemy.setProjectileSprite(FAST_ALIEN_SHOT);
         }else if(strategy.equals("slow_straight")){
             enemy.setProjectileStrategy(new SlowProjectileStrategy());
-            enemy.setImage(new Image(new File("src/main/resources/slow_alien.png").toURI().toString(), 20, 20, true, true));
-            enemy.setProjectileImage(new Image(new File("src/main/resources/alien_shot_slow.png").toURI().toString(), 10, 10, true, true));
+            enemy.setSprite(SLOW_ALIEN);
+            enemy.setProjectileSprite(SLOW_ALIEN_SHOT);
 
         }else{
             enemy.setProjectileStrategy(null);
-            enemy.setImage(null);
+            enemy.setSprite(null);
         }
     }
 }
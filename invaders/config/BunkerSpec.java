@@ -0,0 +1,34 @@
+package invaders.config;
+
+/**
+ * Position and size of one bunker
+ */
+public final class BunkerSpec {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    public BunkerSpec(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,28 @@
+package invaders.config;
+
+/**
+ * Starting position of one enemy and the kind of projectile it fires ("fast_straight" or "slow_straight")
+ */
+public final class EnemySpec {
+    private final int x;
+    private final int y;
+    private final String projectile;
+
+    public EnemySpec(int x, int y, String projectile) {
+        this.x = x;
+        this.y = y;
+        this.projectile = projectile;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public String getProjectile() {
+        return projectile;
+    }
+}
@@ -0,0 +1,42 @@
+package invaders.config;
+
+import java.util.List;
+
+/**
+ * The parsed config of one difficulty. Immutable, so one instance is shared by every engine of that difficulty.
+ */
+public final class GameConfig {
+    private final int width;
+    private final int height;
+    private final PlayerConfig player;
+    private final List<BunkerSpec> bunkers;
+    private final List<EnemySpec> enemies;
+
+    public GameConfig(int width, int height, PlayerConfig player, List<BunkerSpec> bunkers, List<EnemySpec> enemies) {
+        this.width = width;
+        this.height = height;
+        this.player = player;
+        this.bunkers = List.copyOf(bunkers);
+        this.enemies = List.copyOf(enemies);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public PlayerConfig getPlayer() {
+        return player;
+    }
+
+    public List<BunkerSpec> getBunkers() {
+        return bunkers;
+    }
+
+    public List<EnemySpec> getEnemies() {
+        return enemies;
+    }
+}
@@ -0,0 +1,72 @@
+package invaders.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates level configs of any size, for load tests well beyond the shipped difficulties.
+ * Enemies are laid out in a grid from the top left, as in the shipped configs, and bunkers in rows above the player.
+ * The same parameters and seed always give the same config.
+ */
+public final class LevelGenerator {
+    // the shipped configs space enemies 40px apart in a row and 35px between rows
+    private static final int ENEMY_SPACING_X = 40;
+    private static final int ENEMY_SPACING_Y = 35;
+    private static final int MARGIN = 60;
+    private static final int TOP = 50;
+    private static final int BUNKER_WIDTH = 50;
+    private static final int BUNKER_HEIGHT = 30;
+    private static final int BUNKER_GAP_X = 100;
+    private static final int BUNKER_GAP_Y = 10;
+    // the shipped bunkers sit 100px above the bottom, the player 20px
+    private static final int BUNKER_TOP_OFFSET = 100;
+    private static final int PLAYER_OFFSET = 20;
+
+    private LevelGenerator() {}
+
+    /**
+     * @param fastShare the share of enemies with fast projectiles, the others get slow ones
+     * @throws IllegalArgumentException if the enemies and bunkers don't fit into the arena
+     */
+    public static GameConfig generate(int width, int height, int enemyCount, int bunkerCount, double fastShare, long seed) {
+        if (enemyCount < 0 || bunkerCount < 0 || fastShare < 0 || fastShare > 1) {
+            throw new IllegalArgumentException("Counts must not be negative and fastShare must be in [0, 1]");
+        }
+        Random random = new Random(seed);
+        PlayerConfig player = new PlayerConfig(width / 2, height - PLAYER_OFFSET, 3, 1, "blue");
+
+        int enemyColumns = Math.max(1, (width - 2 * MARGIN) / ENEMY_SPACING_X);
+        int enemyRows = (enemyCount + enemyColumns - 1) / enemyColumns;
+        int enemyBottom = TOP + enemyRows * ENEMY_SPACING_Y;
+
+        int bunkerColumns = Math.max(1, (width - 2 * MARGIN) / (BUNKER_WIDTH + BUNKER_GAP_X));
+        int bunkerRows = (bunkerCount + bunkerColumns - 1) / bunkerColumns;
+        int bunkerTop = height - BUNKER_TOP_OFFSET - (bunkerRows - 1) * (BUNKER_HEIGHT + BUNKER_GAP_Y);
+        // enemies reaching the player's line end the game, so the formation has to start well above the bunkers
+        if (enemyBottom > bunkerTop - ENEMY_SPACING_Y * 2) {
+            throw new IllegalArgumentException(String.format("%d enemies and %d bunkers don't fit into %dx%d",
+                    enemyCount, bunkerCount, width, height));
+        }
+
+        List<EnemySpec> enemies = new ArrayList<>(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            int x = MARGIN + (i % enemyColumns) * ENEMY_SPACING_X;
+            int y = TOP + (i / enemyColumns) * ENEMY_SPACING_Y;
+            enemies.add(new EnemySpec(x, y, random.nextDouble() < fastShare ? "fast_straight" : "slow_straight"));
+        }
+
+        List<BunkerSpec> bunkers = new ArrayList<>(bunkerCount);
+        for (int i = 0; i < bunkerCount; i++) {
+            int row = i / bunkerColumns;
+            // rows that aren't full are centred
+            int inRow = Math.min(bunkerColumns, bunkerCount - row * bunkerColumns);
+            int rowWidth = inRow * BUNKER_WIDTH + (inRow - 1) * BUNKER_GAP_X;
+            int x = (width - rowWidth) / 2 + (i % bunkerColumns) * (BUNKER_WIDTH + BUNKER_GAP_X);
+            int y = height - BUNKER_TOP_OFFSET - row * (BUNKER_HEIGHT + BUNKER_GAP_Y);
+            bunkers.add(new BunkerSpec(x, y, BUNKER_WIDTH, BUNKER_HEIGHT));
+        }
+
+        return new GameConfig(width, height, player, bunkers, enemies);
+    }
+}
@@ -0,0 +1,40 @@
+package invaders.config;
+
+/**
+ * Where the player starts, how fast it moves and how many lives it has
+ */
+public final class PlayerConfig {
+    private final int x;
+    private final int y;
+    private final int lives;
+    private final int speed;
+    private final String colour;
+
+    public PlayerConfig(int x, int y, int lives, int speed, String colour) {
+        this.x = x;
+        this.y = y;
+        this.lives = lives;
+        this.speed = speed;
+        this.colour = colour;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public String getColour() {
+        return colour;
+    }
+}
@@ -0,0 +1,55 @@
+package invaders.config;
+
+import java.util.Locale;
+
+/**
+ * Named generated levels for load tests. DifficultyLevel loads them by name like a difficulty,
+ * so HeadlessApp, BatchApp and the benchmarks can all run them, e.g. "HeadlessApp stress_10k".
+ */
+public enum StressScenario {
+    STRESS_1K(2400, 1200, 1_000, 8, 0.5),
+    STRESS_10K(5000, 4000, 10_000, 32, 0.5),
+    STRESS_25K(10_000, 5000, 25_000, 64, 0.5),
+    FAST_BARRAGE(2000, 2000, 2_000, 4, 1.0),
+    SLOW_SWARM(2000, 2000, 2_000, 4, 0.0),
+    BUNKER_WALL(3000, 1800, 500, 500, 0.5);
+
+    private static final long SEED = 2201;
+
+    private final int width;
+    private final int height;
+    private final int enemyCount;
+    private final int bunkerCount;
+    private final double fastShare;
+
+    StressScenario(int width, int height, int enemyCount, int bunkerCount, double fastShare) {
+        this.width = width;
+        this.height = height;
+        this.enemyCount = enemyCount;
+        this.bunkerCount = bunkerCount;
+        this.fastShare = fastShare;
+    }
+
+    /**
+     * The name to load the scenario by, e.g. stress_10k
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public GameConfig generate() {
+        return LevelGenerator.generate(width, height, enemyCount, bunkerCount, fastShare, SEED);
+    }
+
+    /**
+     * @return the scenario with that name, or null
+     */
+    public static StressScenario byName(String name) {
+        for (StressScenario scenario : values()) {
+            if (scenario.getName().equals(name)) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package invaders.engine;
+
+import invaders.rendering.ImageCache;
+import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws every renderable onto one Canvas, layer by layer, instead of keeping a node per renderable.
+ * The scene graph then only holds the canvas, however many projectiles are flying.
+ */
+class CanvasRenderer implements SceneRenderer {
+    private static final int ATLAS_WIDTH = 1024;
+
+    private final Canvas canvas;
+    private final List<LayerBatch> layers = new ArrayList<>();
+    private boolean atlasPacked;
+
+    CanvasRenderer(double width, double height) {
+        this.canvas = new Canvas(width, height);
+        // in front of the space background, behind the time and score labels
+        this.canvas.setViewOrder(50.0);
+        for (int i = 0; i < Renderable.Layer.values().length; i++) {
+            layers.add(new LayerBatch());
+        }
+    }
+
+    @Override
+    public void attach(Pane pane) {
+        pane.getChildren().add(canvas);
+    }
+
+    @Override
+    public void detach(Pane pane) {
+        pane.getChildren().remove(canvas);
+    }
+
+    @Override
+    public void sync(GameEngine model, double alpha, double xViewportOffset, double yViewportOffset) {
+        List<Renderable> renderables = model.getRenderables();
+        if (!atlasPacked) {
+            packAtlas(renderables);
+        }
+
+        // bucket by layer; the enum is declared back to front, so drawing in ordinal order sorts by layer
+        for (int i = 0; i < renderables.size(); i++) {
+            Renderable entity = renderables.get(i);
+            if (entity.isAlive() && entity.getSprite() != null) {
+                layers.get(entity.getLayer().ordinal()).add(entity,
+                        model.getInterpolatedX(i, alpha) - xViewportOffset, model.getInterpolatedY(i, alpha) - yViewportOffset);
+            }
+        }
+    }
+
+    @Override
+    public void draw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        ImageCache cache = ImageCache.getInstance();
+        ImageCache.Atlas atlas = cache.getAtlas();
+        for (LayerBatch layer : layers) {
+            for (int i = 0; i < layer.size; i++) {
+                Renderable entity = layer.entities[i];
+                Sprite sprite = entity.getSprite();
+                double x = layer.xs[i];
+                double y = layer.ys[i];
+                Rectangle2D region = atlas == null ? null : atlas.getRegion(sprite);
+                if (region != null) {
+                    double scale = fitScale(region.getWidth(), region.getHeight(), entity);
+                    gc.drawImage(atlas.getImage(), region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight(),
+                            x, y, region.getWidth() * scale, region.getHeight() * scale);
+                } else {
+                    Image image = cache.get(sprite);
+                    double scale = fitScale(image.getWidth(), image.getHeight(), entity);
+                    gc.drawImage(image, x, y, image.getWidth() * scale, image.getHeight() * scale);
+                }
+            }
+            layer.clear();
+        }
+    }
+
+    // loads the sprites on screen right now and packs them into one texture; later sprites are drawn on their own
+    private void packAtlas(List<Renderable> renderables) {
+        ImageCache cache = ImageCache.getInstance();
+        for (Renderable entity : renderables) {
+            if (entity.getSprite() != null) {
+                cache.get(entity.getSprite());
+            }
+        }
+        cache.packAtlas(ATLAS_WIDTH);
+        atlasPacked = true;
+    }
+
+    // same sizing as an ImageView with fit width/height and preserveRatio
+    private static double fitScale(double imageWidth, double imageHeight, Renderable entity) {
+        if (imageWidth <= 0 || imageHeight <= 0) {
+            return 1;
+        }
+        return Math.min(entity.getWidth() / imageWidth, entity.getHeight() / imageHeight);
+    }
+
+    // the renderables of one layer and where on screen they go this frame
+    private static final class LayerBatch {
+        private Renderable[] entities = new Renderable[16];
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private int size;
+
+        void add(Renderable entity, double x, double y) {
+            if (size == entities.length) {
+                entities = Arrays.copyOf(entities, size * 2);
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            entities[size] = entity;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(entities, 0, size, null);
+            size = 0;
+        }
+    }
+
+    @Override
+    public void onRenderablesRemoved(List<Renderable> removedRenderables) {
+        // nothing is kept between frames
+    }
+
+    @Override
+    public String getName() {
+        return "canvas";
+    }
+}
@@ -0,0 +1,77 @@
+package invaders.engine;
+
+import invaders.rendering.Renderable;
+
+import java.util.Arrays;
+
+/**
+ * Holds the spawns, despawns and damage that game objects ask for while the engine updates them,
+ * so they can be applied after the update phase in a fixed order whichever thread recorded them.
+ * The engine keeps one buffer per chunk of objects and applies the buffers in chunk order.
+ */
+final class CommandBuffer {
+    private static final byte SPAWN = 0;
+    private static final byte DESPAWN = 1;
+    private static final byte DESPAWN_HANDLE = 2;
+    private static final byte DAMAGE = 3;
+
+    private byte[] commands = new byte[16];
+    private Renderable[] targets = new Renderable[16];
+    private int[] handles = new int[16];
+    private double[] amounts = new double[16];
+    private int size;
+
+    void spawn(Renderable renderable) {
+        add(SPAWN, renderable, EntityRegistry.NO_HANDLE, 0);
+    }
+
+    void despawn(Renderable renderable) {
+        add(DESPAWN, renderable, EntityRegistry.NO_HANDLE, 0);
+    }
+
+    void despawn(int handle) {
+        add(DESPAWN_HANDLE, null, handle, 0);
+    }
+
+    void damage(Renderable renderable, double amount) {
+        add(DAMAGE, renderable, EntityRegistry.NO_HANDLE, amount);
+    }
+
+    /**
+     * Applies the commands to the engine in the order they were recorded and empties the buffer
+     */
+    void applyTo(GameEngine engine) {
+        for (int i = 0; i < size; i++) {
+            switch (commands[i]) {
+                case SPAWN:
+                    engine.spawn(targets[i]);
+                    break;
+                case DESPAWN:
+                    engine.despawn(targets[i]);
+                    break;
+                case DESPAWN_HANDLE:
+                    engine.despawn(handles[i]);
+                    break;
+                default:
+                    engine.damage(targets[i], amounts[i]);
+                    break;
+            }
+        }
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+
+    private void add(byte command, Renderable target, int handle, double amount) {
+        if (size == commands.length) {
+            commands = Arrays.copyOf(commands, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+            handles = Arrays.copyOf(handles, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        commands[size] = command;
+        targets[size] = target;
+        handles[size] = handle;
+        amounts[size] = amount;
+        size++;
+    }
+}
@@ -0,0 +1,374 @@
+package invaders.engine;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the entities of an engine in one dense array and hands out a handle for each of them.
+ * A handle is the entity's slot in a sparse table plus the generation of that slot. Despawning bumps the generation,
+ * so a handle kept after its entity was despawned (and the slot or the pooled object reused) no longer resolves.
+ * <p>
+ * Spawns and despawns made during a tick are queued and applied together by {@link #flush(Changes)}.
+ * A despawn moves the last entity into the freed place, so it costs O(1) however many entities there are,
+ * at the price of not keeping the dense order.
+ */
+public class EntityRegistry<T> {
+    /**
+     * Returned for entities that are not in the registry
+     */
+    public static final int NO_HANDLE = -1;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    // 11 bits keep handles positive; a slot has to be reused 2048 times before an old handle could match again
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1;
+
+    // sparse slot states besides a dense index
+    private static final int FREE = -1;
+    private static final int QUEUED = -2;
+    private static final int CANCELLED = -3;
+
+    /**
+     * Told about every change flush makes to the dense array, so parallel arrays can follow it
+     */
+    public interface Changes<T> {
+        /**
+         * Called before the entity at index is replaced by the last one
+         */
+        void removed(int index, T entity);
+
+        /**
+         * Called after the entity was appended at the end
+         */
+        void added(T entity);
+    }
+
+    private Object[] dense = new Object[16];
+    private int[] denseHandles = new int[16];
+    private int size;
+
+    private int[] denseIndex = new int[16];
+    private int[] generations = new int[16];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // entity -> handle by identity, open addressing with linear probing so no Integer or entry is allocated
+    private Object[] handleKeys = new Object[32];
+    private int[] handleValues = new int[32];
+    private int handleCount;
+
+    private final List<T> spawnQueue = new ArrayList<>();
+    private int[] spawnHandles = new int[16];
+    private int[] despawnQueue = new int[16];
+    private int despawnCount;
+
+    private final List<T> view = new DenseView();
+
+    /**
+     * Adds an entity right away, outside of a tick
+     * @return its handle
+     */
+    public int add(T entity) {
+        int handle = allocate();
+        append(entity, handle);
+        return handle;
+    }
+
+    /**
+     * Queues an entity to be added on the next flush. The handle is valid straight away,
+     * but the entity only shows up in {@link #asList()} once it has been flushed.
+     */
+    public int spawn(T entity) {
+        int handle = allocate();
+        denseIndex[slotOf(handle)] = QUEUED;
+        spawnHandles = ensureCapacity(spawnHandles, spawnQueue.size() + 1);
+        spawnHandles[spawnQueue.size()] = handle;
+        spawnQueue.add(entity);
+        putHandle(entity, handle);
+        return handle;
+    }
+
+    /**
+     * Queues the entity behind a handle to be removed on the next flush
+     * @return false if the handle is stale, i.e. its entity is already gone
+     */
+    public boolean despawn(int handle) {
+        if (!isValid(handle)) {
+            return false;
+        }
+        int slot = slotOf(handle);
+        if (denseIndex[slot] == QUEUED) {
+            // never made it into the dense array, flush just drops it
+            denseIndex[slot] = CANCELLED;
+            return true;
+        }
+        if (denseIndex[slot] == CANCELLED) {
+            return false;
+        }
+        despawnQueue = ensureCapacity(despawnQueue, despawnCount + 1);
+        despawnQueue[despawnCount++] = handle;
+        return true;
+    }
+
+    /**
+     * Applies the queued despawns, then the queued spawns
+     */
+    public void flush(Changes<T> changes) {
+        for (int i = 0; i < despawnCount; i++) {
+            int handle = despawnQueue[i];
+            // the same entity may have been queued twice; the second one sees a bumped generation
+            if (isValid(handle) && denseIndex[slotOf(handle)] >= 0) {
+                int index = denseIndex[slotOf(handle)];
+                T entity = at(index);
+                changes.removed(index, entity);
+                swapRemove(index);
+                release(handle, entity);
+            }
+        }
+        despawnCount = 0;
+
+        for (int i = 0; i < spawnQueue.size(); i++) {
+            T entity = spawnQueue.get(i);
+            int handle = spawnHandles[i];
+            if (denseIndex[slotOf(handle)] == CANCELLED) {
+                release(handle, entity);
+                continue;
+            }
+            append(entity, handle);
+            changes.added(entity);
+        }
+        spawnQueue.clear();
+    }
+
+    /**
+     * Removes every entity matching the filter right away, keeping the order of the others.
+     * Walks the whole array, so it is meant for rare bulk changes like restoring a save.
+     */
+    public void removeIf(Predicate<? super T> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T entity = at(i);
+            if (filter.test(entity)) {
+                release(denseHandles[i], entity);
+            } else {
+                dense[kept] = entity;
+                denseHandles[kept] = denseHandles[i];
+                denseIndex[slotOf(denseHandles[kept])] = kept;
+                kept++;
+            }
+        }
+        Arrays.fill(dense, kept, size, null);
+        size = kept;
+    }
+
+    /**
+     * Removes every entity, flushed or queued; all handles handed out so far become stale
+     */
+    public void clear() {
+        removeIf(entity -> true);
+        for (int i = 0; i < spawnQueue.size(); i++) {
+            release(spawnHandles[i], spawnQueue.get(i));
+        }
+        spawnQueue.clear();
+        despawnCount = 0;
+    }
+
+    /**
+     * @return whether the handle still belongs to an entity that is in the registry or queued to be
+     */
+    public boolean isValid(int handle) {
+        if (handle < 0) {
+            return false;
+        }
+        int slot = slotOf(handle);
+        return slot < slotCount && denseIndex[slot] != FREE && generations[slot] == generationOf(handle);
+    }
+
+    /**
+     * @return the entity behind the handle, or null if the handle is stale or the entity isn't flushed yet
+     */
+    public T get(int handle) {
+        if (!isValid(handle)) {
+            return null;
+        }
+        int index = denseIndex[slotOf(handle)];
+        return index >= 0 ? at(index) : null;
+    }
+
+    /**
+     * @return the handle of a flushed or queued entity, or NO_HANDLE
+     */
+    public int getHandle(T entity) {
+        int i = findHandle(entity);
+        return handleKeys[i] == null ? NO_HANDLE : handleValues[i];
+    }
+
+    /**
+     * @return the handle of the entity at an index of {@link #asList()}
+     */
+    public int getHandleAt(int index) {
+        return denseHandles[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The flushed entities in dense order, as a read-only view that follows every change
+     */
+    public List<T> asList() {
+        return view;
+    }
+
+    private int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount > INDEX_MASK) {
+                throw new IllegalStateException("Too many entities: " + slotCount);
+            }
+            slot = slotCount++;
+            denseIndex = ensureCapacity(denseIndex, slotCount);
+            generations = ensureCapacity(generations, slotCount);
+        }
+        denseIndex[slot] = QUEUED;
+        return (generations[slot] << INDEX_BITS) | slot;
+    }
+
+    private void append(T entity, int handle) {
+        if (size == dense.length) {
+            dense = Arrays.copyOf(dense, size * 2);
+            denseHandles = Arrays.copyOf(denseHandles, size * 2);
+        }
+        dense[size] = entity;
+        denseHandles[size] = handle;
+        denseIndex[slotOf(handle)] = size;
+        putHandle(entity, handle);
+        size++;
+    }
+
+    private void swapRemove(int index) {
+        int last = size - 1;
+        if (index != last) {
+            dense[index] = dense[last];
+            denseHandles[index] = denseHandles[last];
+            denseIndex[slotOf(denseHandles[index])] = index;
+        }
+        dense[last] = null;
+        size--;
+    }
+
+    private void release(int handle, T entity) {
+        int slot = slotOf(handle);
+        denseIndex[slot] = FREE;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        freeSlots = ensureCapacity(freeSlots, freeCount + 1);
+        freeSlots[freeCount++] = slot;
+        // a pooled object may already be back under a newer handle
+        removeHandle(entity, handle);
+    }
+
+    /**
+     * @return the index holding the entity, or the empty index where it would go
+     */
+    private int findHandle(Object entity) {
+        int mask = handleKeys.length - 1;
+        int i = hash(entity) & mask;
+        while (handleKeys[i] != null && handleKeys[i] != entity) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void putHandle(T entity, int handle) {
+        int i = findHandle(entity);
+        if (handleKeys[i] == null) {
+            if (2 * (handleCount + 1) > handleKeys.length) {
+                resizeHandles(handleKeys.length * 2);
+                i = findHandle(entity);
+            }
+            handleKeys[i] = entity;
+            handleCount++;
+        }
+        handleValues[i] = handle;
+    }
+
+    private void removeHandle(T entity, int handle) {
+        int i = findHandle(entity);
+        if (handleKeys[i] == null || handleValues[i] != handle) {
+            return;
+        }
+        handleKeys[i] = null;
+        handleCount--;
+        // shift the following entries back so no lookup stops early at the hole
+        int mask = handleKeys.length - 1;
+        int hole = i;
+        for (int j = (i + 1) & mask; handleKeys[j] != null; j = (j + 1) & mask) {
+            int home = hash(handleKeys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                handleKeys[hole] = handleKeys[j];
+                handleValues[hole] = handleValues[j];
+                handleKeys[j] = null;
+                hole = j;
+            }
+        }
+    }
+
+    private void resizeHandles(int capacity) {
+        Object[] oldKeys = handleKeys;
+        int[] oldValues = handleValues;
+        handleKeys = new Object[capacity];
+        handleValues = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int j = findHandle(oldKeys[i]);
+                handleKeys[j] = oldKeys[i];
+                handleValues[j] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(Object entity) {
+        int h = System.identityHashCode(entity) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(int index) {
+        return (T) dense[index];
+    }
+
+    private static int slotOf(int handle) {
+        return handle & INDEX_MASK;
+    }
+
+    private static int generationOf(int handle) {
+        return handle >>> INDEX_BITS;
+    }
+
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        return array.length >= capacity ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+
+    private class DenseView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return at(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
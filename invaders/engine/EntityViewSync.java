@@ -0,0 +1,114 @@
+package invaders.engine;
+
+import invaders.entities.EntityView;
+import invaders.entities.SpaceBackground;
+import invaders.rendering.Renderable;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps one EntityView per renderable and mirrors their nodes into the scene.
+ * Views are looked up by renderable identity, and nodes are added to and removed from the scene
+ * in one bulk call per frame, so a frame costs O(renderables + views).
+ */
+class EntityViewSync {
+    private final Map<Renderable, EntityView> entityViews = new IdentityHashMap<>();
+    private final Function<Renderable, EntityView> viewFactory;
+
+    // reused every frame; removals go through an identity set so removeAll doesn't scan the batch per node
+    private final List<Node> addedNodes = new ArrayList<>();
+    private final Set<Node> removedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    EntityViewSync(Function<Renderable, EntityView> viewFactory) {
+        this.viewFactory = viewFactory;
+    }
+
+    /**
+     * Updates the views of all renderables, creating views for new ones and dropping the views of dead ones
+     * @param alpha how far between the engine's last two ticks the views are placed
+     * @param nodes the scene nodes the views are added to and removed from
+     */
+    void sync(GameEngine model, double alpha, List<Node> nodes, double xViewportOffset, double yViewportOffset) {
+        List<Renderable> renderables = model.getRenderables();
+        for (int i = 0; i < renderables.size(); i++) {
+            Renderable entity = renderables.get(i);
+            // the engine reaps dead entities when a tick ends, but cheats kill between ticks; they don't need a view
+            if (!entity.isAlive()) {
+                continue;
+            }
+            EntityView view = entityViews.get(entity);
+            if (view == null) {
+                view = viewFactory.apply(entity);
+                entityViews.put(entity, view);
+                addedNodes.add(view.getNode());
+            }
+            view.update(model.getInterpolatedX(i, alpha) - xViewportOffset, model.getInterpolatedY(i, alpha) - yViewportOffset);
+        }
+
+        // the engine may already have dropped dead entities from its lists, so check the views themselves
+        Iterator<EntityView> views = entityViews.values().iterator();
+        while (views.hasNext()) {
+            EntityView view = views.next();
+            if (!view.getRenderable().isAlive()) {
+                view.markForDelete();
+                removedNodes.add(view.getNode());
+                views.remove();
+            }
+        }
+
+        applyTo(nodes);
+    }
+
+    /**
+     * Drops the views of renderables that left the engine, dead or not (e.g. when restoring a memento)
+     */
+    void remove(List<Renderable> removedRenderables, List<Node> nodes) {
+        for (Renderable renderable : removedRenderables) {
+            if (renderable instanceof SpaceBackground) {
+                continue;
+            }
+            EntityView view = entityViews.remove(renderable);
+            if (view != null) {
+                view.markForDelete();
+                removedNodes.add(view.getNode());
+            }
+        }
+
+        applyTo(nodes);
+    }
+
+    /**
+     * Drops every view, e.g. when switching to another renderer
+     */
+    void clear(List<Node> nodes) {
+        for (EntityView view : entityViews.values()) {
+            view.markForDelete();
+            removedNodes.add(view.getNode());
+        }
+        entityViews.clear();
+        applyTo(nodes);
+    }
+
+    int size() {
+        return entityViews.size();
+    }
+
+    private void applyTo(List<Node> nodes) {
+        if (!removedNodes.isEmpty()) {
+            nodes.removeAll(removedNodes);
+            removedNodes.clear();
+        }
+        if (!addedNodes.isEmpty()) {
+            nodes.addAll(addedNodes);
+            addedNodes.clear();
+        }
+    }
+}
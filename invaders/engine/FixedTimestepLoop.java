@@ -0,0 +1,102 @@
+package invaders.engine;
+
+/**
+ * Drives the simulation at a fixed number of ticks per second, independent of how often it is pulsed.
+ * Each call to {@link #advance(long)} runs as many ticks as the elapsed time allows and then renders once.
+ * If the frame was so late that more than {@code maxTicksPerPulse} ticks are owed, the rest are dropped
+ * instead of being caught up, so a slow frame can't snowball into slower and slower frames.
+ */
+public class FixedTimestepLoop {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Runnable tick;
+    private final Runnable render;
+    private final int ticksPerSecond;
+    private final long stepNanos;
+    private final int maxTicksPerPulse;
+
+    private long previousTime = -1;
+    private long accumulator;
+    private long totalTicks;
+    private long droppedTicks;
+
+    // measured tick rate over the last full second
+    private long windowStart;
+    private long windowTicks;
+    private double measuredTicksPerSecond;
+
+    public FixedTimestepLoop(int ticksPerSecond, int maxTicksPerPulse, Runnable tick, Runnable render) {
+        if (ticksPerSecond <= 0 || maxTicksPerPulse <= 0) {
+            throw new IllegalArgumentException("Tick rate and catch-up cap must be positive!");
+        }
+        this.tick = tick;
+        this.render = render;
+        this.ticksPerSecond = ticksPerSecond;
+        this.stepNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.maxTicksPerPulse = maxTicksPerPulse;
+    }
+
+    /**
+     * Runs the ticks owed since the last pulse and renders once
+     * @param now the current time in nanoseconds
+     */
+    public void advance(long now) {
+        if (previousTime < 0) {
+            previousTime = now;
+            windowStart = now;
+        }
+        accumulator += Math.max(0, now - previousTime);
+        previousTime = now;
+
+        int ticks = 0;
+        while (accumulator >= stepNanos && ticks < maxTicksPerPulse) {
+            tick.run();
+            accumulator -= stepNanos;
+            ticks++;
+        }
+
+        // spiral-of-death cap: forget about the ticks we could not afford
+        if (accumulator >= stepNanos) {
+            long owed = accumulator / stepNanos;
+            droppedTicks += owed;
+            accumulator -= owed * stepNanos;
+        }
+
+        totalTicks += ticks;
+        windowTicks += ticks;
+        if (now - windowStart >= NANOS_PER_SECOND) {
+            measuredTicksPerSecond = windowTicks * (double) NANOS_PER_SECOND / (now - windowStart);
+            windowTicks = 0;
+            windowStart = now;
+        }
+
+        render.run();
+    }
+
+    /**
+     * How far the simulation is between the last tick and the next one, in the range [0, 1)
+     */
+    public double getInterpolationAlpha() {
+        return (double) accumulator / stepNanos;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public double getStepSeconds() {
+        return (double) stepNanos / NANOS_PER_SECOND;
+    }
+
+    public double getMeasuredTicksPerSecond() {
+        return measuredTicksPerSecond;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
@@ -0,0 +1,75 @@
+package invaders.engine;
+
+import invaders.metrics.FrameProfiler;
+import invaders.metrics.Phase;
+import invaders.metrics.TimingHistogram;
+import javafx.scene.control.Label;
+
+/**
+ * Shows the renderer in use, the measured tick rate with the ticks dropped so far,
+ * and p50/p99 of every phase of the last profiler window next to the time and score.
+ * P toggles it.
+ */
+class FrameOverlay {
+    // the text only changes once per profiler window, no need to rebuild it every frame
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private final FrameProfiler profiler;
+    private final Label label = new Label();
+    private final StringBuilder text = new StringBuilder();
+    private long lastRefresh;
+    private String rendererName = "";
+    private FixedTimestepLoop loop;
+
+    FrameOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+        label.setStyle("-fx-font-family: monospace; -fx-font-size: 11;");
+        label.setVisible(false);
+        label.setManaged(false);
+    }
+
+    Label getNode() {
+        return label;
+    }
+
+    void setRendererName(String rendererName) {
+        this.rendererName = rendererName;
+        lastRefresh = 0;
+    }
+
+    void setLoop(FixedTimestepLoop loop) {
+        this.loop = loop;
+        lastRefresh = 0;
+    }
+
+    void toggle() {
+        boolean visible = !label.isVisible();
+        label.setVisible(visible);
+        label.setManaged(visible);
+        lastRefresh = 0;
+    }
+
+    /**
+     * @param now the current time in nanoseconds
+     */
+    void refresh(long now) {
+        if (!label.isVisible() || now - lastRefresh < REFRESH_NANOS) {
+            return;
+        }
+        lastRefresh = now;
+
+        text.setLength(0);
+        text.append(String.format("%-10s %8s%n", "renderer", rendererName));
+        if (loop != null) {
+            text.append(String.format("%-10s %8.1f %8s%n", "ticks/s", loop.getMeasuredTicksPerSecond(), ""));
+            text.append(String.format("%-10s %8d %8s%n", "dropped", loop.getDroppedTicks(), ""));
+        }
+        text.append(String.format("%-10s %8s %8s%n", "entities", profiler.getLastEntityCount(), ""));
+        for (Phase phase : Phase.values()) {
+            TimingHistogram histogram = profiler.getLastWindow(phase);
+            text.append(String.format("%-10s %6.1fus %6.1fus%n", phase.getLabel(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0));
+        }
+        label.setText(text.toString().trim());
+    }
+}
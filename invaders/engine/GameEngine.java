@@ -1,187 +1,515 @@
 package invaders.engine;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 
 import invaders.builder.BunkerBuilder;
 import invaders.builder.Director;
 import invaders.builder.EnemyBuilder;
+import invaders.config.BunkerSpec;
+import invaders.config.EnemySpec;
+import invaders.config.GameConfig;
 import invaders.factory.EnemyProjectile;
+import invaders.factory.EnemyProjectileFactory;
+import invaders.factory.PlayerProjectile;
 import invaders.factory.Projectile;
+import invaders.factory.ProjectileFactory;
 import invaders.gameobject.Bunker;
 import invaders.gameobject.Enemy;
+import invaders.gameobject.EnemyFormation;
 import invaders.gameobject.GameObject;
 import invaders.entities.Player;
-import invaders.memento.GameMemento;
-import invaders.observer.GameEventPublisher;
+import invaders.memento.GameHistory;
+import invaders.memento.GameSaveFile;
+import invaders.metrics.FrameProfiler;
+import invaders.metrics.Phase;
+import invaders.observer.GameEventBus;
+import invaders.observer.GameEventListener;
 import invaders.observer.GameObserver;
-import invaders.observer.ScoreEvent;
+import invaders.physics.CollisionFilter;
+import invaders.physics.SpatialGrid;
+import invaders.physics.SweptAabb;
+import invaders.physics.TransformStore;
+import invaders.replay.InputRecorder;
 import invaders.rendering.Renderable;
 import invaders.singleton.DifficultyLevel;
+import invaders.state.BunkerState;
 import invaders.strategy.FastProjectileStrategy;
 import invaders.strategy.SlowProjectileStrategy;
-import javafx.util.Duration;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 
 /**
  * This class manages the main loop and logic of the game
  */
 public class GameEngine {
-	private List<GameObject> gameObjects = new ArrayList<>(); // A list of game objects that gets updated each frame
-	private List<GameObject> pendingToAddGameObject = new ArrayList<>();
-	private List<GameObject> pendingToRemoveGameObject = new ArrayList<>();
-
-	private List<Renderable> pendingToAddRenderable = new ArrayList<>();
-	private List<Renderable> pendingToRemoveRenderable = new ArrayList<>();
+	// every renderable in the engine; the game objects among them are updated each tick
+	private final EntityRegistry<Renderable> entities = new EntityRegistry<>();
+	private final List<Renderable> renderables = entities.asList();
+	// what the last flush took out, handed to the observers so the views go at the same time
+	private final List<Renderable> removedThisTick = new ArrayList<>();
+	// follows the registry's swap-removes, so transform slot i stays with renderables.get(i)
+	private final EntityRegistry.Changes<Renderable> entityChanges = new EntityRegistry.Changes<Renderable>() {
+		@Override
+		public void removed(int index, Renderable renderable) {
+			transforms.swapRemove(index);
+			removedThisTick.add(renderable);
+			// dead enemies are skipped by the formation, only one taken out alive has to leave it
+			if (renderable instanceof Enemy && renderable.isAlive()) {
+				formation.invalidate();
+			}
+			// reaped projectiles go back to their factory's pool
+			if (renderable instanceof EnemyProjectile) {
+				enemyProjectileFactory.release((Projectile) renderable);
+			} else if (renderable instanceof PlayerProjectile) {
+				player.getProjectileFactory().release((Projectile) renderable);
+			}
+		}
 
-	private List<Renderable> renderables =  new ArrayList<>();
+		@Override
+		public void added(Renderable renderable) {
+			transforms.add(renderable);
+			if (renderable instanceof Enemy) {
+				formation.invalidate();
+			}
+		}
+	};
 
 	private Player player;
+	// moves the enemies, lets them fire and checks whether they reached the player
+	private final EnemyFormation formation = new EnemyFormation();
+	// shared by all enemies so their projectiles come from one pool
+	private final ProjectileFactory enemyProjectileFactory = new EnemyProjectileFactory();
 
 	private boolean left;
 	private boolean right;
 	private int gameWidth;
 	private int gameHeight;
-	private int timer = 45;
+	private int timer = RELOAD_TICKS;
 	private float timeElapsed; // time after the game start
 	private int score;
+	private long tick; // number of updates so far
+	// every random decision in the game comes from here, so a seed and the inputs reproduce a session
+	private final long seed;
+	private final GameRandom random;
+	private InputRecorder recorder;
 	private List<GameObserver> observers;
-	private long lastUpdateTime;
-	private GameMemento memento;
+	// events raised during a tick are dispatched when it ends
+	private final GameEventBus eventBus = new GameEventBus();
+	private final FrameProfiler profiler = new FrameProfiler();
+	// the engine keeps the score by listening to its own bus
+	private final GameEventListener scoreKeeper = new GameEventListener() {
+		@Override
+		public void onScore(int points) {
+			updateScore(points);
+		}
+	};
+	// undo slots for the S and L keys
+	private final GameHistory history = new GameHistory(GameHistory.DEFAULT_CAPACITY, GameHistory.DEFAULT_KEYFRAME_INTERVAL);
+	private SpatialGrid broadPhase;
+	// pairs that touched during the current collision pass, reused between ticks
+	private int[] hitA = new int[16];
+	private int[] hitB = new int[16];
+	private long[] hitOrder = new long[16];
+	private int hitCount;
+	// positions and sizes of the renderables, slot i belongs to renderables.get(i)
+	private final TransformStore transforms = new TransformStore();
+	// start with -Dinvaders.parallelUpdate=true to update the game objects on the common fork-join pool
+	private boolean parallelUpdate = Boolean.getBoolean("invaders.parallelUpdate");
+	// one buffer per chunk of game objects; what the objects ask the engine for during the update phase goes there
+	private CommandBuffer[] updateBuffers = new CommandBuffer[0];
+	private final ThreadLocal<CommandBuffer> currentBuffer = new ThreadLocal<>();
+	private boolean updatingObjects;
+	private int updateChunkSize;
+	// 0 sizes the chunks from the entity count and the pool's parallelism
+	private int fixedUpdateChunkSize;
+
+	// a little bigger than the enemy sprites, so most objects only touch one or two cells
+	private static final double BROAD_PHASE_CELL_SIZE = 32;
+	// a few chunks per worker, so a thread that finishes early can steal; below the minimum a task isn't worth it
+	private static final int UPDATE_CHUNKS_PER_THREAD = 4;
+	private static final int MIN_UPDATE_CHUNK_SIZE = 256;
 
-	public GameEngine(String difficulty){
+	/**
+	 * Simulation rate, 120 unless started with -Dinvaders.tickRate=<n>. Speeds are given per second,
+	 * so the rate only changes how finely the game is stepped, not how fast it plays.
+	 */
+	public static final int TICKS_PER_SECOND = Integer.getInteger("invaders.tickRate", 120);
+	/**
+	 * Simulation time covered by one tick
+	 */
+	public static final double TICK_SECONDS = 1.0 / TICKS_PER_SECOND;
+	// time between two player shots
+	private static final double RELOAD_SECONDS = 0.375;
+	private static final int RELOAD_TICKS = (int) Math.round(RELOAD_SECONDS * TICKS_PER_SECOND);
 
-		lastUpdateTime = System.nanoTime();
-		observers = new ArrayList<>();
+	public GameEngine(String difficulty){
+		this(difficulty, new Random().nextLong());
+	}
 
-		DifficultyLevel difficultyLevel = DifficultyLevel.getInstance(difficulty);
+	/**
+	 * @param seed seeds the game's random number generator; the same seed and inputs play out the same game
+	 */
+	public GameEngine(String difficulty, long seed){
+		this(DifficultyLevel.getInstance(difficulty).getConfig(), seed);
+	}
 
-		JSONObject gameInfo = difficultyLevel.getGameInfo();
-		JSONObject playerInfo = difficultyLevel.getPlayerInfo();
-		JSONArray bunkersInfo = difficultyLevel.getBunkersInfo();
-		JSONArray enemiesInfo = difficultyLevel.getEnemiesInfo();
-		GameEventPublisher.getInstance().subscribeScoreEvent(event -> updateScore(event.getScore()));
+	/**
+	 * Sets up a game from an already parsed config
+	 */
+	public GameEngine(GameConfig config, long seed){
+		this.seed = seed;
+		this.random = new GameRandom(seed);
+		observers = new ArrayList<>();
+		eventBus.addListener(scoreKeeper);
 
-		// Get game width and height from the difficulty level instance
-		gameWidth = ((Long)((JSONObject) gameInfo.get("size")).get("x")).intValue();
-		gameHeight = ((Long)((JSONObject) gameInfo.get("size")).get("y")).intValue();
+		// Get game width and height from the config
+		gameWidth = config.getWidth();
+		gameHeight = config.getHeight();
+		broadPhase = new SpatialGrid(gameWidth, gameHeight, BROAD_PHASE_CELL_SIZE);
 
 		//Get player info
-		this.player = new Player(playerInfo);
-		renderables.add(player);
+		this.player = new Player(config.getPlayer());
+		entities.add(player);
 
 
 
 		Director director = new Director();
 		BunkerBuilder bunkerBuilder = new BunkerBuilder();
 		//Get Bunkers info
-		for(Object eachBunkerInfo : bunkersInfo){
-			Bunker bunker = director.constructBunker(bunkerBuilder, (JSONObject) eachBunkerInfo);
-			gameObjects.add(bunker);
-			renderables.add(bunker);
+		for(BunkerSpec eachBunkerInfo : config.getBunkers()){
+			Bunker bunker = director.constructBunker(bunkerBuilder, eachBunkerInfo);
+			entities.add(bunker);
 		}
 
 
 		EnemyBuilder enemyBuilder = new EnemyBuilder();
 		//Get Enemy info
-		for(Object eachEnemyInfo : enemiesInfo){
-			Enemy enemy = director.constructEnemy(this, enemyBuilder, (JSONObject) eachEnemyInfo);
-			gameObjects.add(enemy);
-			renderables.add(enemy);
+		for(EnemySpec eachEnemyInfo : config.getEnemies()){
+			Enemy enemy = director.constructEnemy(this, enemyBuilder, eachEnemyInfo);
+			entities.add(enemy);
 		}
+		transforms.rebuild(renderables);
 
 	}
 
 	/**
-	 * Updates the game/simulation
+	 * Advances the game/simulation by one tick of TICK_SECONDS
 	 */
 	public void update(){
 		timer+=1;
+		tick++;
+
+		updateTime((float) TICK_SECONDS);
+		transforms.beginStep();
 
-		long currentTime = System.nanoTime();
-		float deltaTime = (currentTime - lastUpdateTime) / 1_000_000_000.0f;
-		lastUpdateTime = currentTime;
-		updateTime(deltaTime);
+		long start = System.nanoTime();
 		movePlayer();
+		long moved = System.nanoTime();
+
+		formation.update(this, TICK_SECONDS);
+		updateObjects();
+		long updated = System.nanoTime();
+
+		resolveCollisions();
+		long collided = System.nanoTime();
+		keepOnScreen();
+		long clamped = System.nanoTime();
+		flushPendingObjects();
+		eventBus.dispatch();
+		long flushed = System.nanoTime();
+
+		profiler.record(Phase.INPUT, moved - start);
+		profiler.record(Phase.UPDATE, updated - moved);
+		profiler.record(Phase.COLLISION, collided - updated);
+		profiler.record(Phase.CLAMP, clamped - collided);
+		profiler.record(Phase.FLUSH, flushed - clamped);
+		profiler.endTick(flushed, renderables.size());
+	}
+
+	/**
+	 * Updates the game objects in chunks, on the fork-join pool if parallel updates are on.
+	 * Each chunk records its spawns, despawns and damage in its own buffer, and the buffers are applied in chunk order
+	 * afterwards, so the outcome is the same as updating every object in turn on one thread.
+	 */
+	private void updateObjects() {
+		updateChunkSize = chooseUpdateChunkSize(renderables.size());
+		int chunks = (renderables.size() + updateChunkSize - 1) / updateChunkSize;
+		if (updateBuffers.length < chunks) {
+			updateBuffers = Arrays.copyOf(updateBuffers, chunks);
+			for (int c = 0; c < chunks; c++) {
+				if (updateBuffers[c] == null) {
+					updateBuffers[c] = new CommandBuffer();
+				}
+			}
+		}
+
+		updatingObjects = true;
+		try {
+			if (parallelUpdate && chunks > 1) {
+				ForkJoinPool.commonPool().invoke(new UpdateChunks(0, chunks));
+			} else {
+				for (int c = 0; c < chunks; c++) {
+					updateChunk(c);
+				}
+			}
+		} finally {
+			updatingObjects = false;
+		}
+
+		for (int c = 0; c < chunks; c++) {
+			updateBuffers[c].applyTo(this);
+		}
+	}
+
+	// spawns and despawns are queued until the flush, so the list doesn't change under this loop
+	private void updateChunk(int chunk) {
+		currentBuffer.set(updateBuffers[chunk]);
+		try {
+			int end = Math.min(renderables.size(), (chunk + 1) * updateChunkSize);
+			for (int i = chunk * updateChunkSize; i < end; i++) {
+				Renderable renderable = renderables.get(i);
+				if (renderable instanceof GameObject) {
+					((GameObject) renderable).update(this, TICK_SECONDS);
+				}
+			}
+		} finally {
+			currentBuffer.remove();
+		}
+	}
+
+	private int chooseUpdateChunkSize(int count) {
+		if (fixedUpdateChunkSize > 0) {
+			return fixedUpdateChunkSize;
+		}
+		if (!parallelUpdate) {
+			return Math.max(1, count);
+		}
+		int tasks = ForkJoinPool.commonPool().getParallelism() * UPDATE_CHUNKS_PER_THREAD;
+		return Math.max(MIN_UPDATE_CHUNK_SIZE, (count + tasks - 1) / tasks);
+	}
+
+	// splits the range of chunks in halves until each task updates one chunk
+	private class UpdateChunks extends RecursiveAction {
+		private final int from;
+		private final int to;
+
+		UpdateChunks(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
 
-		for(GameObject go: gameObjects){
-			go.update(this);
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				if (from < to) {
+					updateChunk(from);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new UpdateChunks(from, middle), new UpdateChunks(middle, to));
 		}
+	}
 
+	/**
+	 * Damages every pair of renderables that touched during this tick and publishes the points for shot down projectiles.
+	 * Pairs are tested along the paths the renderables moved this tick, so fast projectiles can't skip through thin
+	 * targets, and hits are applied in the order they happened.
+	 */
+	void resolveCollisions() {
+		// broad phase: only pairs sharing a grid cell can touch. Each renderable covers everything it passed this tick.
+		// Objects that are already dead can never pass the health check below, so they are left out of the grid.
+		broadPhase.begin(renderables.size());
+		for (int i = 0; i < renderables.size(); i++) {
+			if (renderables.get(i).getHealth() > 0) {
+				broadPhase.insert(i, transforms.getSweptX(i), transforms.getSweptY(i), transforms.getSweptWidth(i), transforms.getSweptHeight(i));
+			}
+		}
+		broadPhase.build();
+
+		// candidates come back in ascending order, so pairs are found in the same order as a full i/j scan
+		hitCount = 0;
 		for (int i = 0; i < renderables.size(); i++) {
 			Renderable renderableA = renderables.get(i);
-			for (int j = i + 1; j < renderables.size(); j++) {
+			int candidateCount = broadPhase.queryCandidatesAfter(i);
+			int[] candidates = broadPhase.getCandidates();
+			for (int k = 0; k < candidateCount; k++) {
+				int j = candidates[k];
 				Renderable renderableB = renderables.get(j);
 
-				// Check if either object is an enemy projectile and the other is an enemy to prevent self-collision
-				if (!((renderableA.getRenderableObjectName().equals("EnemyProjectile") && renderableB.getRenderableObjectName().equals("Enemy")) ||
-						(renderableA.getRenderableObjectName().equals("Enemy") && renderableB.getRenderableObjectName().equals("EnemyProjectile")) ||
-						(renderableA.getRenderableObjectName().equals("EnemyProjectile") && renderableB.getRenderableObjectName().equals("EnemyProjectile")) ||
-						(renderableA.getRenderableObjectName().equals("Enemy") && renderableB.getRenderableObjectName().equals("Enemy")))) {
-					if (renderableA.isColliding(renderableB) && renderableA.getHealth() > 0 && renderableB.getHealth() > 0) {
-						renderableA.takeDamage(1);
-						renderableB.takeDamage(1);
-
-						// if collide with player's projectile and enemy's projectile, gain points
-						if ((renderableA.getRenderableObjectName().equals("PlayerProjectile") && renderableB.getRenderableObjectName().equals("EnemyProjectile")) ||
-								(renderableA.getRenderableObjectName().equals("EnemyProjectile") && renderableB.getRenderableObjectName().equals("PlayerProjectile"))) {
-							EnemyProjectile enemyProjectile = (EnemyProjectile)(renderableA.getRenderableObjectName().equals("EnemyProjectile") ? renderableA : renderableB);
-							GameEventPublisher.getInstance().publishScoreEvent(new ScoreEvent(enemyProjectile.getScore()));
-						}
+				// Enemy/EnemyProjectile combinations are filtered out by the pair table to prevent self-collision
+				int response = CollisionFilter.getResponse(renderableA.getCollisionCategory(), renderableB.getCollisionCategory());
+				if ((response & CollisionFilter.COLLIDE) != 0) {
+					double timeOfImpact = transforms.timeOfImpact(i, j);
+					if (timeOfImpact != SweptAabb.NO_HIT) {
+						addHit(i, j, timeOfImpact);
 					}
 				}
 			}
 		}
 
-
-		// ensure that renderable foreground objects don't go off-screen
-		int offset = 1;
-		for(Renderable ro: renderables){
-			if(!ro.getLayer().equals(Renderable.Layer.FOREGROUND)){
-				continue;
-			}
-			if(ro.getPosition().getX() + ro.getWidth() >= gameWidth) {
-				ro.getPosition().setX((gameWidth - offset) -ro.getWidth());
+		// earliest hit first; pairs that touch at the same time keep the scan order
+		Arrays.sort(hitOrder, 0, hitCount);
+		for (int h = 0; h < hitCount; h++) {
+			int hit = (int) hitOrder[h];
+			Renderable renderableA = renderables.get(hitA[hit]);
+			Renderable renderableB = renderables.get(hitB[hit]);
+			// a renderable destroyed by an earlier hit this tick doesn't hit anything after it
+			if (renderableA.getHealth() > 0 && renderableB.getHealth() > 0) {
+				eventBus.publishCollision(renderableA.getCollisionCategory(), renderableB.getCollisionCategory());
+				damage(renderableA, 1);
+				damage(renderableB, 1);
+
+				// if collide with player's projectile and enemy's projectile, gain points
+				int response = CollisionFilter.getResponse(renderableA.getCollisionCategory(), renderableB.getCollisionCategory());
+				if ((response & CollisionFilter.SCORE) != 0) {
+					EnemyProjectile enemyProjectile = (EnemyProjectile)(renderableA.getCollisionCategory() == CollisionFilter.ENEMY_PROJECTILE ? renderableA : renderableB);
+					eventBus.publishScore(enemyProjectile.getScore());
+				}
 			}
+		}
+	}
 
-			if(ro.getPosition().getX() <= 0) {
-				ro.getPosition().setX(offset);
-			}
+	// sort key: the time of impact's float bits (which order like the floats, as they are never negative) above the hit's index
+	private void addHit(int a, int b, double timeOfImpact) {
+		if (hitCount == hitA.length) {
+			hitA = Arrays.copyOf(hitA, hitCount * 2);
+			hitB = Arrays.copyOf(hitB, hitCount * 2);
+			hitOrder = Arrays.copyOf(hitOrder, hitCount * 2);
+		}
+		hitA[hitCount] = a;
+		hitB[hitCount] = b;
+		hitOrder[hitCount] = ((long) Float.floatToIntBits((float) timeOfImpact) << 32) | hitCount;
+		hitCount++;
+	}
+
+	/**
+	 * Damages a renderable and publishes the bunker state change or death it causes.
+	 * Called from a game object's update, the damage is done once all objects have been updated.
+	 */
+	public void damage(Renderable renderable, double amount) {
+		if (updatingObjects) {
+			currentBuffer.get().damage(renderable, amount);
+			return;
+		}
+		BunkerState bunkerState = renderable instanceof Bunker ? ((Bunker) renderable).getState() : null;
+		boolean wasAlive = renderable.isAlive();
+		renderable.takeDamage(amount);
+		if (bunkerState != null && ((Bunker) renderable).getState() != bunkerState) {
+			eventBus.publishBunkerStateChanged(bunkerState.getLevel(), ((Bunker) renderable).getState().getLevel());
+		}
+		if (wasAlive && !renderable.isAlive()) {
+			eventBus.publishEntityDestroyed(renderable.getCollisionCategory(), renderable.getPosition().getX(), renderable.getPosition().getY());
+		}
+	}
 
-			if(ro.getPosition().getY() + ro.getHeight() >= gameHeight) {
-				ro.getPosition().setY((gameHeight - offset) -ro.getHeight());
+	// ensure that renderable foreground objects don't go off-screen
+	private void keepOnScreen() {
+		transforms.clampTo(gameWidth, gameHeight, 1);
+	}
+
+	/**
+	 * Reaps everything that died during this tick and applies the queued spawns and despawns
+	 */
+	private void flushPendingObjects() {
+		reapDeadObjects();
+		entities.flush(entityChanges);
+		if (!removedThisTick.isEmpty()) {
+			for (GameObserver observer : observers) {
+				observer.onRenderablesRemoved(removedThisTick);
 			}
+			removedThisTick.clear();
+		}
+	}
 
-			if(ro.getPosition().getY() <= 0) {
-				ro.getPosition().setY(offset);
+	/**
+	 * Queues every dead renderable except the player for despawning, so later ticks and frames only see live ones
+	 */
+	private void reapDeadObjects() {
+		for (int i = 0; i < renderables.size(); i++) {
+			Renderable renderable = renderables.get(i);
+			if (renderable instanceof Enemy) {
+				// reaped projectiles are reused by the pool, the enemy mustn't hold on to them
+				((Enemy) renderable).dropDeadProjectiles();
+			}
+			if (!renderable.isAlive() && renderable != player) {
+				entities.despawn(entities.getHandleAt(i));
 			}
 		}
+	}
 
+	/**
+	 * Queues a renderable to join the game when the current tick ends; game objects among them are updated from then on
+	 * @return a handle for despawning it later, or NO_HANDLE when called from a game object's update, as handles are
+	 * only given out once all objects have been updated (getHandle has it from then on)
+	 */
+	public int spawn(Renderable renderable) {
+		if (updatingObjects) {
+			currentBuffer.get().spawn(renderable);
+			return EntityRegistry.NO_HANDLE;
+		}
+		return entities.spawn(renderable);
 	}
 
-	public List<Renderable> getRenderables(){
-		return renderables;
+	/**
+	 * Queues the renderable behind a handle to leave the game when the current tick ends
+	 * @return false if the handle is stale, i.e. the renderable has already left
+	 */
+	public boolean despawn(int handle) {
+		if (updatingObjects) {
+			currentBuffer.get().despawn(handle);
+			return entities.isValid(handle);
+		}
+		return entities.despawn(handle);
 	}
 
-	public List<GameObject> getGameObjects() {
-		return gameObjects;
+	public boolean despawn(Renderable renderable) {
+		if (updatingObjects) {
+			currentBuffer.get().despawn(renderable);
+			return entities.isValid(entities.getHandle(renderable));
+		}
+		return entities.despawn(entities.getHandle(renderable));
 	}
-	public List<GameObject> getPendingToAddGameObject() {
-		return pendingToAddGameObject;
+
+	/**
+	 * @return the handle of a renderable in the game, or EntityRegistry.NO_HANDLE
+	 */
+	public int getHandle(Renderable renderable) {
+		return entities.getHandle(renderable);
 	}
 
-	public List<GameObject> getPendingToRemoveGameObject() {
-		return pendingToRemoveGameObject;
+	/**
+	 * @return the renderable behind a handle, or null if the handle is stale
+	 */
+	public Renderable getRenderable(int handle) {
+		return entities.get(handle);
 	}
 
-	public List<Renderable> getPendingToAddRenderable() {
-		return pendingToAddRenderable;
+	/**
+	 * Where to draw the renderable at an index of getRenderables(), alpha of the way from where it was when the last
+	 * tick started to where it is now. Drawing with the loop's interpolation alpha stays one tick behind the simulation
+	 * but moves smoothly at any frame rate.
+	 */
+	public double getInterpolatedX(int index, double alpha) {
+		return transforms.getInterpolatedX(index, alpha);
 	}
 
-	public List<Renderable> getPendingToRemoveRenderable() {
-		return pendingToRemoveRenderable;
+	public double getInterpolatedY(int index, double alpha) {
+		return transforms.getInterpolatedY(index, alpha);
+	}
+
+	/**
+	 * A read-only view of the renderables. Despawning moves the last renderable into the freed place,
+	 * so the order is stable within a tick but not across ticks.
+	 */
+	public List<Renderable> getRenderables(){
+		return renderables;
 	}
 
 
@@ -201,23 +529,85 @@ public class GameEngine {
 	}
 
 	public boolean shootPressed(){
-		if(timer>45 && player.isAlive()){
+		if(timer>RELOAD_TICKS && player.isAlive()){
 			Projectile projectile = player.shoot();
-			gameObjects.add(projectile);
-			renderables.add(projectile);
+			entities.add(projectile);
+			transforms.add(projectile);
 			timer=0;
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Applies a player input and hands it to the recorder, if one is attached
+	 * @return false if the input had no effect, i.e. shooting before the player has reloaded
+	 */
+	public boolean applyInput(GameInput input) {
+		if (recorder != null) {
+			recorder.record(tick, input);
+		}
+		switch (input) {
+			case LEFT_PRESSED:
+				leftPressed();
+				break;
+			case LEFT_RELEASED:
+				leftReleased();
+				break;
+			case RIGHT_PRESSED:
+				rightPressed();
+				break;
+			case RIGHT_RELEASED:
+				rightReleased();
+				break;
+			case SHOOT:
+				return shootPressed();
+			case SAVE:
+				saveStateToMemento();
+				break;
+			case UNDO:
+				restoreStateFromMemento();
+				break;
+			case CHEAT_REMOVE_FAST_PROJECTILES:
+				cheatRemoveFastProjectiles();
+				break;
+			case CHEAT_REMOVE_SLOW_PROJECTILES:
+				cheatRemoveSlowProjectiles();
+				break;
+			case CHEAT_REMOVE_FAST_ENEMIES:
+				cheatRemoveEnemiesWithFastProjectiles();
+				break;
+			case CHEAT_REMOVE_SLOW_ENEMIES:
+				cheatRemoveEnemiesWithSlowProjectiles();
+				break;
+		}
+		return true;
+	}
+
+	/**
+	 * Records every input applied from now on. Start before the first update to be able to replay the session.
+	 */
+	public void startRecording(InputRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Ends the recording with the current tick and score
+	 */
+	public void stopRecording() throws IOException {
+		if (recorder != null) {
+			recorder.finish(tick, score);
+			recorder = null;
+		}
+	}
+
 	private void movePlayer(){
 		if(left){
-			player.left();
+			player.left(TICK_SECONDS);
 		}
 
 		if(right){
-			player.right();
+			player.right(TICK_SECONDS);
 		}
 	}
 
@@ -233,11 +623,94 @@ public class GameEngine {
 		return player;
 	}
 
+	/**
+	 * @return per-phase timings of update() and of the window's draw
+	 */
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
+	public GameEventBus getEventBus() {
+		return eventBus;
+	}
+
+	/**
+	 * Not available while the game objects are updated, as the order objects draw numbers in would depend on the threads
+	 */
+	public Random getRandom() {
+		if (updatingObjects) {
+			throw new IllegalStateException("The random generator can't be used during the game object update");
+		}
+		return random;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	public void setTick(long tick) {
+		this.tick = tick;
+	}
+
+	/**
+	 * @return the state of the random generator, for a save file to pick the game up exactly where it was
+	 */
+	public long getRandomState() {
+		return random.getState();
+	}
+
+	public void setRandomState(long state) {
+		random.setState(state);
+	}
+
+	/**
+	 * Switches between updating the game objects on the calling thread and on the common fork-join pool;
+	 * both give the same game
+	 */
+	public void setParallelUpdate(boolean parallelUpdate) {
+		this.parallelUpdate = parallelUpdate;
+	}
+
+	public boolean isParallelUpdate() {
+		return parallelUpdate;
+	}
+
+	/**
+	 * Updates the game objects in chunks of the given size, in either mode; 0 goes back to sizing them
+	 * from the entity count and the parallelism of the common pool
+	 */
+	public void setUpdateChunkSize(int chunkSize) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("Chunk size can't be negative: " + chunkSize);
+		}
+		this.fixedUpdateChunkSize = chunkSize;
+	}
+
+	public EnemyFormation getFormation() {
+		return formation;
+	}
+
+	public ProjectileFactory getEnemyProjectileFactory() {
+		return enemyProjectileFactory;
+	}
+
 	public void updateScore(int value) {
 		this.score += value;
 		notifyScoreChanged();
 	}
 
+	public int getScore() {
+		return score;
+	}
+
+	public float getTimeElapsed() {
+		return timeElapsed;
+	}
+
 	public void setScore(int scoreValue){
 		this.score = scoreValue;
 	}
@@ -251,6 +724,17 @@ public class GameEngine {
 		this.timeElapsed = timeElapsedSnapshot;
 	}
 
+	/**
+	 * Ticks since the player last shot; the player can shoot again once it covers more than 0.375 seconds
+	 */
+	public int getShotTimer() {
+		return timer;
+	}
+
+	public void setShotTimer(int timer) {
+		this.timer = timer;
+	}
+
 	private void notifyScoreChanged() {
 //		System.out.println("Score updated to: " + score); // Test
 		for (GameObserver observer : observers) {
@@ -261,7 +745,7 @@ public class GameEngine {
 	private void notifyTimeChanged() {
 //		System.out.println("Time updated to: " + timeElapsed); // Test
 		for (GameObserver observer : observers) {
-			observer.updateTime(Duration.millis(timeElapsed * 1000));
+			observer.updateTime(timeElapsed);
 		}
 	}
 
@@ -269,21 +753,21 @@ public class GameEngine {
 		observers.add(observer);
 	}
 
+	/**
+	 * Pushes the enemies, their projectiles, the score and the time onto the undo history
+	 */
 	public void saveStateToMemento() {
-		// Filter only enemies and their projectiles from the renderables before saving the state
-		List<Renderable> enemiesAndProjectiles = renderables.stream()
-				.filter(r -> r instanceof Enemy || r instanceof Projectile)
-				.collect(Collectors.toList());
-
-		// Create a deep copy of enemies and projectiles and save the current score and time
-		memento = new GameMemento(new ArrayList<>(enemiesAndProjectiles), score, timeElapsed);
+		history.save(renderables, score, timeElapsed);
 	}
 
+	/**
+	 * Reverts to the newest saved state and takes it off the history, so pressing L again goes further back
+	 */
 	public void restoreStateFromMemento() {
-		if (memento != null) {
+		if (!history.isEmpty()) {
 			List<Renderable> toRemove = getEnemiesAndProjectiles();
 			clearEnemiesAndProjectiles();
-			memento.restoreState(this);
+			history.restore(this);
 			for (GameObserver observer : observers) {
 				observer.onRenderablesRemoved(toRemove);
 			}
@@ -293,22 +777,56 @@ public class GameEngine {
 		}
 	}
 
+	public GameHistory getHistory() {
+		return history;
+	}
 
+	/**
+	 * Writes the whole game state to a save file
+	 */
+	public void saveStateToFile(Path path) throws IOException {
+		GameSaveFile.write(this, path);
+	}
 
-	public void addAllRenderablesAndGameObjects(List<Renderable> newRenderables) {
-		renderables.addAll(newRenderables);
+	/**
+	 * Replaces the whole game state with the one in a save file made by saveStateToFile
+	 */
+	public void loadStateFromFile(Path path) throws IOException {
+		List<Renderable> toRemove = new ArrayList<>(renderables);
+		toRemove.remove(player);
+		GameSaveFile.read(path, this);
+		for (GameObserver observer : observers) {
+			observer.onRenderablesRemoved(toRemove);
+		}
 
+		notifyScoreChanged();
+		notifyTimeChanged();
+	}
+
+
+
+	public void addAllRenderablesAndGameObjects(List<Renderable> newRenderables) {
 		for (Renderable r : newRenderables) {
-			if (r instanceof GameObject) {
-				gameObjects.add((GameObject) r);
-			}
+			entities.add(r);
+			transforms.add(r);
 		}
+		formation.invalidate();
+	}
+
+	/**
+	 * Swaps every renderable and game object for the given ones, in the given order
+	 */
+	public void replaceAllRenderablesAndGameObjects(List<Renderable> newRenderables) {
+		entities.clear();
+		transforms.rebuild(renderables);
+		addAllRenderablesAndGameObjects(newRenderables);
 	}
 
 	public void clearEnemiesAndProjectiles() {
-		// Remove only the enemies and enemy projectiles from gameObjects and renderables
-		gameObjects.removeIf(obj -> obj instanceof Enemy || obj instanceof EnemyProjectile);
-		renderables.removeIf(ren -> ren instanceof Enemy || ren instanceof EnemyProjectile);
+		// Remove only the enemies and enemy projectiles
+		entities.removeIf(ren -> ren instanceof Enemy || ren instanceof EnemyProjectile);
+		transforms.rebuild(renderables);
+		formation.invalidate();
 	}
 
 //	public void clearEnemiesAndProjectiles() {
@@ -329,41 +847,47 @@ public class GameEngine {
 	}
 
 	public void cheatRemoveFastProjectiles() {
+		// what a cheat kills stays in renderables until the reap, so another cheat before the next tick skips it
 		List<Renderable> fastProjectiles = renderables.stream()
-				.filter(r -> r instanceof EnemyProjectile && ((EnemyProjectile) r).getStrategy() instanceof FastProjectileStrategy)
+				.filter(r -> r.isAlive() && r instanceof EnemyProjectile && ((EnemyProjectile) r).getStrategy() instanceof FastProjectileStrategy)
 				.collect(Collectors.toList());
-		fastProjectiles.forEach(projectile -> projectile.takeDamage(projectile.getHealth()));
+		fastProjectiles.forEach(projectile -> damage(projectile, projectile.getHealth()));
 		updateScore(fastProjectiles.size()*2);
+		// cheats are applied between ticks, so their events don't wait for the next one
+		eventBus.dispatch();
 	}
 
 	public void cheatRemoveSlowProjectiles() {
 		List<Renderable> slowProjectiles = renderables.stream()
-				.filter(r -> r instanceof EnemyProjectile && ((EnemyProjectile) r).getStrategy() instanceof SlowProjectileStrategy)
+				.filter(r -> r.isAlive() && r instanceof EnemyProjectile && ((EnemyProjectile) r).getStrategy() instanceof SlowProjectileStrategy)
 				.collect(Collectors.toList());
 
-		slowProjectiles.forEach(projectile -> projectile.takeDamage(projectile.getHealth()));
+		slowProjectiles.forEach(projectile -> damage(projectile, projectile.getHealth()));
 		updateScore(slowProjectiles.size());
+		eventBus.dispatch();
 	}
 
 
 
 	public void cheatRemoveEnemiesWithFastProjectiles() {
 		List<Renderable> enemiesWithFastProjectiles = renderables.stream()
-				.filter(r -> r instanceof Enemy && ((Enemy) r).getProjectileStrategy() instanceof FastProjectileStrategy)
+				.filter(r -> r.isAlive() && r instanceof Enemy && ((Enemy) r).getProjectileStrategy() instanceof FastProjectileStrategy)
 				.collect(Collectors.toList());
 
-		enemiesWithFastProjectiles.forEach(enemy -> enemy.takeDamage(enemy.getHealth()));
+		enemiesWithFastProjectiles.forEach(enemy -> damage(enemy, enemy.getHealth()));
 		updateScore(enemiesWithFastProjectiles.size() * 4);
+		eventBus.dispatch();
 	}
 
 
 	public void cheatRemoveEnemiesWithSlowProjectiles() {
 		List<Renderable> enemiesWithSlowProjectiles = renderables.stream()
-				.filter(r -> r instanceof Enemy && ((Enemy) r).getProjectileStrategy() instanceof SlowProjectileStrategy)
+				.filter(r -> r.isAlive() && r instanceof Enemy && ((Enemy) r).getProjectileStrategy() instanceof SlowProjectileStrategy)
 				.collect(Collectors.toList());
 
-		enemiesWithSlowProjectiles.forEach(enemy -> enemy.takeDamage(enemy.getHealth()));
+		enemiesWithSlowProjectiles.forEach(enemy -> damage(enemy, enemy.getHealth()));
 		updateScore(enemiesWithSlowProjectiles.size() * 3);
+		eventBus.dispatch();
 	}
 
 }
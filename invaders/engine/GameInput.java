@@ -0,0 +1,20 @@
+package invaders.engine;
+
+/**
+ * Everything the player can do to the game.
+ * The keyboard handler turns key events into these, so a session can be recorded and replayed
+ * as (tick, input) pairs. Recordings store the ordinal, so new inputs go at the end.
+ */
+public enum GameInput {
+    LEFT_PRESSED,
+    LEFT_RELEASED,
+    RIGHT_PRESSED,
+    RIGHT_RELEASED,
+    SHOOT,
+    SAVE,
+    UNDO,
+    CHEAT_REMOVE_FAST_PROJECTILES,
+    CHEAT_REMOVE_SLOW_PROJECTILES,
+    CHEAT_REMOVE_FAST_ENEMIES,
+    CHEAT_REMOVE_SLOW_ENEMIES
+}
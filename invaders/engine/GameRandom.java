@@ -0,0 +1,46 @@
+package invaders.engine;
+
+import java.util.Random;
+
+/**
+ * The engine's random generator. It draws exactly the same numbers as java.util.Random for the same seed,
+ * but its state can be read and set, so a save file can carry on the game exactly where it was saved.
+ * Not thread-safe; the engine only draws numbers on its own thread.
+ * nextGaussian keeps a cached second value that the state doesn't cover, so the game doesn't use it.
+ */
+public class GameRandom extends Random {
+    // the 48-bit linear congruential generator of java.util.Random
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // also called by the Random constructor, before this class' fields are initialised
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return the generator's internal state, which setState takes back
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
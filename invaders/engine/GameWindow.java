@@ -1,11 +1,14 @@
 package invaders.engine;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.ArrayList;
 
-import invaders.entities.EntityViewImpl;
 import invaders.entities.SpaceBackground;
+import invaders.metrics.FrameProfiler;
+import invaders.metrics.Phase;
 import invaders.observer.GameObserver;
+import invaders.replay.InputRecorder;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
@@ -13,10 +16,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import invaders.entities.EntityView;
 import invaders.rendering.Renderable;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 
@@ -25,7 +26,7 @@ public class GameWindow implements GameObserver {
 	private Scene scene;
     private Pane pane;
     private GameEngine model;
-    private List<EntityView> entityViews =  new ArrayList<EntityView>();
+    private SceneRenderer renderer;
     private Renderable background;
     private Stage primaryStage;
     private Label timeLabel;
@@ -33,6 +34,7 @@ public class GameWindow implements GameObserver {
     private int score;
     private Duration time;
     private HBox statusDisplay;
+    private FrameOverlay frameOverlay;
 
 
     private double xViewportOffset = 0.0;
@@ -40,7 +42,17 @@ public class GameWindow implements GameObserver {
     // private static final double VIEWPORT_MARGIN = 280.0;
     private final int initialWidth;
     private final int initialHeight;
-    private Timeline timeline;
+    private AnimationTimer pulse;
+    private FixedTimestepLoop loop;
+
+    // upper bound on catch-up ticks in a single pulse
+    private static final int MAX_TICKS_PER_PULSE = 8;
+    // start with -Dinvaders.renderer=canvas to draw on a single canvas, B switches while playing
+    private static final String RENDERER_PROPERTY = "invaders.renderer";
+    // start with -Dinvaders.record=<file> to record the session for invaders.ReplayApp
+    private static final String RECORD_PROPERTY = "invaders.record";
+    // start with -Dinvaders.interpolate=false to draw the positions of the last tick as they are
+    private static final boolean INTERPOLATE = !"false".equals(System.getProperty("invaders.interpolate"));
 
 
     public GameWindow(Stage primaryStage) {
@@ -81,14 +93,22 @@ public class GameWindow implements GameObserver {
         // set game engine based on the difficulty.
         this.model = new GameEngine(difficulty);
         this.model.addObserver(this);
+        startRecording(difficulty);
         this.pane = new Pane();
+        this.frameOverlay = new FrameOverlay(model.getProfiler());
+        this.statusDisplay.getChildren().add(frameOverlay.getNode());
         this.pane.getChildren().add(statusDisplay);
         this.background = new SpaceBackground(model, pane);
+        this.renderer = createRenderer(System.getProperty(RENDERER_PROPERTY, "nodes"));
+        this.renderer.attach(pane);
+        this.frameOverlay.setRendererName(renderer.getName());
 
         this.scene = new Scene(pane, model.getGameWidth(), model.getGameHeight());
 
         // add keyboardHandler
         KeyboardInputHandler keyboardInputHandler = new KeyboardInputHandler(model);
+        keyboardInputHandler.setRendererToggle(this::toggleRenderer);
+        keyboardInputHandler.setOverlayToggle(frameOverlay::toggle);
         scene.setOnKeyPressed(keyboardInputHandler::handlePressed);
         scene.setOnKeyReleased(keyboardInputHandler::handleReleased);
 
@@ -98,75 +118,82 @@ public class GameWindow implements GameObserver {
         run();
     }
 
-    public void run() {
-        timeline = new Timeline(new KeyFrame(Duration.millis(17), event -> {
-            // Update and draw game
-            model.update();
-            draw();
-        }));
-
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
-    }
-
-
-    private void draw(){
-        model.update();
-
-        List<Renderable> renderables = model.getRenderables();
-        for (Renderable entity : renderables) {
-            boolean notFound = true;
-            for (EntityView view : entityViews) {
-                if (view.matchesEntity(entity)) {
-                    notFound = false;
-                    view.update(xViewportOffset, yViewportOffset);
-                    break;
-                }
-            }
-            if (notFound) {
-                EntityView entityView = new EntityViewImpl(entity);
-                entityViews.add(entityView);
-                pane.getChildren().add(entityView.getNode());
-            }
+    private void startRecording(String difficulty) {
+        String recordPath = System.getProperty(RECORD_PROPERTY);
+        if (recordPath == null) {
+            return;
         }
-
-        for (Renderable entity : renderables){
-            if (!entity.isAlive()){
-                for (EntityView entityView : entityViews){
-                    if (entityView.matchesEntity(entity)){
-                        entityView.markForDelete();
-                    }
-                }
-            }
+        try {
+            model.startRecording(new InputRecorder(Paths.get(recordPath), difficulty, model.getSeed()));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
         }
-
-        for (EntityView entityView : entityViews) {
-            if (entityView.isMarkedForDelete()) {
-                pane.getChildren().remove(entityView.getNode());
+        primaryStage.setOnHidden(event -> {
+            try {
+                model.stopRecording();
+            } catch (IOException e) {
+                e.printStackTrace();
             }
-        }
+        });
+    }
 
+    public void run() {
+        // the simulation runs at a fixed tick rate, and we draw exactly once per JavaFX pulse
+        loop = new FixedTimestepLoop(GameEngine.TICKS_PER_SECOND, MAX_TICKS_PER_PULSE, model::update, this::draw);
+        frameOverlay.setLoop(loop);
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                loop.advance(now);
+            }
+        };
+        pulse.start();
+    }
 
-        model.getGameObjects().removeAll(model.getPendingToRemoveGameObject());
-        model.getGameObjects().addAll(model.getPendingToAddGameObject());
-        model.getRenderables().removeAll(model.getPendingToRemoveRenderable());
-        model.getRenderables().addAll(model.getPendingToAddRenderable());
 
-        model.getPendingToAddGameObject().clear();
-        model.getPendingToRemoveGameObject().clear();
-        model.getPendingToAddRenderable().clear();
-        model.getPendingToRemoveRenderable().clear();
+    private void draw(){
+        FrameProfiler profiler = model.getProfiler();
+        long start = System.nanoTime();
+        // draw between the last two ticks, so movement stays smooth when frames come more often than ticks
+        double alpha = INTERPOLATE ? loop.getInterpolationAlpha() : 1;
+        renderer.sync(model, alpha, xViewportOffset, yViewportOffset);
+        long synced = System.nanoTime();
+        renderer.draw();
+        long drawn = System.nanoTime();
+        profiler.record(Phase.VIEW_SYNC, synced - start);
+        profiler.record(Phase.RENDER, drawn - synced);
+        frameOverlay.refresh(drawn);
+    }
 
-        entityViews.removeIf(EntityView::isMarkedForDelete);
+    private SceneRenderer createRenderer(String name) {
+        if (name.equals("canvas")) {
+            return new CanvasRenderer(model.getGameWidth(), model.getGameHeight());
+        }
+        return new NodeRenderer();
+    }
 
+    /**
+     * Swaps between one node per entity and the single canvas, to compare the two while playing
+     */
+    public void toggleRenderer() {
+        renderer.detach(pane);
+        renderer = createRenderer(renderer.getName().equals("canvas") ? "nodes" : "canvas");
+        renderer.attach(pane);
+        frameOverlay.setRendererName(renderer.getName());
     }
 
 	public Scene getScene() {
         return scene;
     }
 
-    public void updateTime(Duration time) {
-        this.time = time;
+    public FixedTimestepLoop getLoop() {
+        return loop;
+    }
+
+    @Override
+    public void updateTime(double elapsedSeconds) {
+        this.time = Duration.seconds(elapsedSeconds);
         long seconds = (long) time.toSeconds();
         long absSeconds = Math.abs(seconds);
         String positive = String.format("Time: %d:%02d", absSeconds / 60, absSeconds % 60);
@@ -184,21 +211,7 @@ public class GameWindow implements GameObserver {
 
     @Override
     public void onRenderablesRemoved(List<Renderable> removedRenderables) {
-        // Test
-//        System.out.println("onRenderablesRemoved called. Renderables to remove: " + removedRenderables.size());
-//        System.out.println("Current entityViews: " + entityViews);
-//        System.out.println("Removed renderables: " + removedRenderables);
-
-        pane.getChildren().removeIf(node -> {
-            for (EntityView view : entityViews) {
-                if (removedRenderables.contains(view.getRenderable()) && node == view.getNode()) {
-                    return !(view.getRenderable() instanceof SpaceBackground);
-                }
-            }
-            return false;
-        });
-
-        entityViews.removeIf(view -> removedRenderables.contains(view.getRenderable()) && !(view.getRenderable() instanceof SpaceBackground));
+        renderer.onRenderablesRemoved(removedRenderables);
     }
 
 }
@@ -10,11 +10,11 @@ import java.util.*;
 
 class KeyboardInputHandler {
     private final GameEngine model;
-    private boolean left = false;
-    private boolean right = false;
     private Set<KeyCode> pressedKeys = new HashSet<>();
 
     private Map<String, MediaPlayer> sounds = new HashMap<>();
+    private Runnable rendererToggle;
+    private Runnable overlayToggle;
 
     KeyboardInputHandler(GameEngine model) {
         this.model = model;
@@ -28,51 +28,59 @@ class KeyboardInputHandler {
         sounds.put("shoot", mediaPlayer);
     }
 
+    void setRendererToggle(Runnable rendererToggle) {
+        this.rendererToggle = rendererToggle;
+    }
+
+    void setOverlayToggle(Runnable overlayToggle) {
+        this.overlayToggle = overlayToggle;
+    }
+
     void handlePressed(KeyEvent keyEvent) {
         if (pressedKeys.contains(keyEvent.getCode())) {
             return;
         }
         pressedKeys.add(keyEvent.getCode());
 
+        if (keyEvent.getCode() == KeyCode.B && rendererToggle != null) {
+            rendererToggle.run();
+        }
+        if (keyEvent.getCode() == KeyCode.P && overlayToggle != null) {
+            overlayToggle.run();
+        }
+
         if (keyEvent.getCode().equals(KeyCode.SPACE)) {
-            if (model.shootPressed()) {
+            if (model.applyInput(GameInput.SHOOT)) {
                 MediaPlayer shoot = sounds.get("shoot");
                 shoot.stop();
                 shoot.play();
             }
         }
 
+        // everything goes through applyInput, so a recording sees the same inputs as the engine
         if (keyEvent.getCode().equals(KeyCode.LEFT)) {
-            left = true;
+            model.applyInput(GameInput.LEFT_PRESSED);
         }
         if (keyEvent.getCode().equals(KeyCode.RIGHT)) {
-            right = true;
+            model.applyInput(GameInput.RIGHT_PRESSED);
         }
         if (keyEvent.getCode().equals((KeyCode.S))){
-            model.saveStateToMemento();
+            model.applyInput(GameInput.SAVE);
         }
         if (keyEvent.getCode().equals((KeyCode.L))){
-            model.restoreStateFromMemento();
+            model.applyInput(GameInput.UNDO);
         }
         if (Objects.requireNonNull(keyEvent.getCode()) == KeyCode.Q) {
-            model.cheatRemoveFastProjectiles();
+            model.applyInput(GameInput.CHEAT_REMOVE_FAST_PROJECTILES);
         }
         if (keyEvent.getCode() == KeyCode.W) {
-            model.cheatRemoveSlowProjectiles();
+            model.applyInput(GameInput.CHEAT_REMOVE_SLOW_PROJECTILES);
         }
         if (keyEvent.getCode() == KeyCode.E) {
-            model.cheatRemoveEnemiesWithFastProjectiles();
+            model.applyInput(GameInput.CHEAT_REMOVE_FAST_ENEMIES);
         }
         if (keyEvent.getCode() == KeyCode.R) {
-            model.cheatRemoveEnemiesWithSlowProjectiles();
-        }
-
-        if (left) {
-            model.leftPressed();
-        }
-
-        if(right){
-            model.rightPressed();
+            model.applyInput(GameInput.CHEAT_REMOVE_SLOW_ENEMIES);
         }
     }
 
@@ -80,12 +88,10 @@ class KeyboardInputHandler {
         pressedKeys.remove(keyEvent.getCode());
 
         if (keyEvent.getCode().equals(KeyCode.LEFT)) {
-            left = false;
-            model.leftReleased();
+            model.applyInput(GameInput.LEFT_RELEASED);
         }
         if (keyEvent.getCode().equals(KeyCode.RIGHT)) {
-            model.rightReleased();
-            right = false;
+            model.applyInput(GameInput.RIGHT_RELEASED);
         }
     }
 }
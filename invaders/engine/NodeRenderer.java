@@ -0,0 +1,46 @@
+package invaders.engine;
+
+import invaders.entities.EntityViewImpl;
+import invaders.rendering.Renderable;
+import javafx.scene.layout.Pane;
+
+import java.util.List;
+
+/**
+ * Gives every renderable its own ImageView node in the pane
+ */
+class NodeRenderer implements SceneRenderer {
+    private final EntityViewSync entityViews = new EntityViewSync(EntityViewImpl::new);
+    private Pane pane;
+
+    @Override
+    public void attach(Pane pane) {
+        this.pane = pane;
+    }
+
+    @Override
+    public void detach(Pane pane) {
+        entityViews.clear(pane.getChildren());
+        this.pane = null;
+    }
+
+    @Override
+    public void sync(GameEngine model, double alpha, double xViewportOffset, double yViewportOffset) {
+        entityViews.sync(model, alpha, pane.getChildren(), xViewportOffset, yViewportOffset);
+    }
+
+    @Override
+    public void draw() {
+        // the scene graph draws the nodes itself on the next pulse
+    }
+
+    @Override
+    public void onRenderablesRemoved(List<Renderable> removedRenderables) {
+        entityViews.remove(removedRenderables, pane.getChildren());
+    }
+
+    @Override
+    public String getName() {
+        return "nodes";
+    }
+}
@@ -0,0 +1,39 @@
+package invaders.engine;
+
+import invaders.rendering.Renderable;
+import javafx.scene.layout.Pane;
+
+import java.util.List;
+
+/**
+ * A way of putting the renderables on screen. GameWindow can swap between implementations while the game runs.
+ */
+interface SceneRenderer {
+    /**
+     * Adds whatever the renderer needs to the pane
+     */
+    void attach(Pane pane);
+
+    /**
+     * Removes everything the renderer added to the pane
+     */
+    void detach(Pane pane);
+
+    /**
+     * Brings whatever the renderer keeps per renderable up to date with the engine
+     * @param alpha how far between the engine's last two ticks to draw, see GameEngine.getInterpolatedX
+     */
+    void sync(GameEngine model, double alpha, double xViewportOffset, double yViewportOffset);
+
+    /**
+     * Puts the last synced renderables on screen
+     */
+    void draw();
+
+    /**
+     * Called when renderables left the engine, whether they died or were replaced by a save or undo
+     */
+    void onRenderablesRemoved(List<Renderable> removedRenderables);
+
+    String getName();
+}
@@ -4,7 +4,10 @@ import javafx.scene.Node;
 import invaders.rendering.Renderable;
 
 public interface EntityView {
-    void update(double xViewportOffset, double yViewportOffset);
+    /**
+     * Places the node at the given screen position and picks up sprite and size changes
+     */
+    void update(double screenX, double screenY);
 
     boolean matchesEntity(Renderable entity);
 
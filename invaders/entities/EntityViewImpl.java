@@ -1,22 +1,23 @@
 package invaders.entities;
 
-import invaders.physics.Vector2D;
+import invaders.rendering.ImageCache;
 import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
 import javafx.scene.Node;
 import javafx.scene.image.ImageView;
 
 public class EntityViewImpl implements EntityView {
     private Renderable entity;
-    private Vector2D position;
     private boolean delete = false;
     private ImageView node;
+    private Sprite sprite;
 
     public EntityViewImpl(Renderable entity) {
         this.entity = entity;
-        this.position = entity.getPosition();
-        node = new ImageView(entity.getImage());
+        this.sprite = entity.getSprite();
+        node = new ImageView(ImageCache.getInstance().get(sprite));
         node.setViewOrder(getViewOrder(entity.getLayer()));
-        update(0.0, 0.0);
+        update(entity.getPosition().getX(), entity.getPosition().getY());
     }
 
     private static double getViewOrder(Renderable.Layer layer) {
@@ -29,12 +30,13 @@ public class EntityViewImpl implements EntityView {
     }
 
     @Override
-    public void update(double xViewportOffset, double yViewportOffset) {
-        if (!node.getImage().equals(entity.getImage())) {
-            node.setImage(entity.getImage());
+    public void update(double screenX, double screenY) {
+        if (sprite != entity.getSprite()) {
+            sprite = entity.getSprite();
+            node.setImage(ImageCache.getInstance().get(sprite));
         }
-        node.setX(position.getX() - xViewportOffset);
-        node.setY(position.getY() - yViewportOffset);
+        node.setX(screenX);
+        node.setY(screenY);
         node.setFitHeight(entity.getHeight());
         node.setFitWidth(entity.getWidth());
         node.setPreserveRatio(true);
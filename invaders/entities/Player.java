@@ -1,41 +1,43 @@
 package invaders.entities;
 
+import invaders.config.PlayerConfig;
 import invaders.factory.PlayerProjectile;
 import invaders.factory.PlayerProjectileFactory;
 import invaders.factory.Projectile;
 import invaders.factory.ProjectileFactory;
 import invaders.physics.Collider;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Moveable;
 import invaders.physics.Vector2D;
-import invaders.rendering.Animator;
 import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
 
 import invaders.strategy.NormalProjectileStrategy;
-import javafx.scene.image.Image;
-import org.json.simple.JSONObject;
-
-import java.io.File;
+import invaders.strategy.ProjectileStrategy;
 
 public class Player implements Moveable, Renderable {
 
     private final Vector2D position;
     private double health;
-    private double velocity;
+    private double velocity; // pixels per second
+    // config speeds are in pixels per 1/120 second, the tick length they were tuned at
+    private static final double CONFIG_SPEED_UNIT = 120;
 
     private final double width = 20;
     private final double height = 20;
-    private final Image image;
+    private final Sprite sprite;
     private ProjectileFactory playerProjectileFactory = new PlayerProjectileFactory();
+    private final ProjectileStrategy projectileStrategy = new NormalProjectileStrategy();
 
 
-    public Player(JSONObject playerInfo){
-        int x = ((Long)((JSONObject)(playerInfo.get("position"))).get("x")).intValue();
-        int y = ((Long)((JSONObject)(playerInfo.get("position"))).get("y")).intValue();
+    public Player(PlayerConfig playerInfo){
+        int x = playerInfo.getX();
+        int y = playerInfo.getY();
 
-        this.image = new Image(new File("src/main/resources/player.png").toURI().toString(), width, height, true, true);
+        this.sprite = new Sprite("src/main/resources/player.png", width, height);
         this.position = new Vector2D(x,y);
-        this.health = ((Long) playerInfo.get("lives")).intValue();
-        this.velocity = ((Long) playerInfo.get("speed")).intValue();
+        this.health = playerInfo.getLives();
+        this.velocity = playerInfo.getSpeed() * CONFIG_SPEED_UNIT;
 
     }
 
@@ -49,38 +51,46 @@ public class Player implements Moveable, Renderable {
         return this.health;
     }
 
+    public void setHealth(double health) {
+        this.health = health;
+    }
+
     @Override
     public boolean isAlive() {
         return this.health > 0;
     }
 
     @Override
-    public void up() {
+    public void up(double seconds) {
         return;
     }
 
     @Override
-    public void down() {
+    public void down(double seconds) {
         return;
     }
 
     @Override
-    public void left() {
-        this.position.setX(this.position.getX() - this.velocity);
+    public void left(double seconds) {
+        this.position.setX(this.position.getX() - this.velocity * seconds);
     }
 
     @Override
-    public void right() {
-        this.position.setX(this.position.getX() + this.velocity);
+    public void right(double seconds) {
+        this.position.setX(this.position.getX() + this.velocity * seconds);
     }
 
     public Projectile shoot(){
-        return playerProjectileFactory.createProjectile(new Vector2D(this.position.getX() + 5 ,this.position.getY() - 10),new NormalProjectileStrategy(),null);
+        return playerProjectileFactory.createProjectile(new Vector2D(this.position.getX() + 5 ,this.position.getY() - 10),projectileStrategy,null);
+    }
+
+    public ProjectileFactory getProjectileFactory() {
+        return playerProjectileFactory;
     }
 
     @Override
-    public Image getImage() {
-        return this.image;
+    public Sprite getSprite() {
+        return this.sprite;
     }
 
     @Override
@@ -108,5 +118,10 @@ public class Player implements Moveable, Renderable {
         return "Player";
     }
 
+    @Override
+    public int getCollisionCategory() {
+        return CollisionFilter.PLAYER;
+    }
+
 
 }
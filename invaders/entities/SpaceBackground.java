@@ -1,10 +1,11 @@
 package invaders.entities;
 
 import invaders.engine.GameEngine;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Vector2D;
 import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
 
-import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
@@ -26,7 +27,7 @@ public class SpaceBackground implements Renderable {
 		pane.getChildren().add(space);
 	}
 
-	public Image getImage() {
+	public Sprite getSprite() {
 		return null;
 	}
 
@@ -67,4 +68,9 @@ public class SpaceBackground implements Renderable {
 	public String getRenderableObjectName() {
 		return "background";
 	}
+
+	@Override
+	public int getCollisionCategory() {
+		return CollisionFilter.BACKGROUND;
+	}
 }
@@ -2,19 +2,30 @@ package invaders.factory;
 
 import invaders.engine.GameEngine;
 import invaders.physics.Collider;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.FastProjectileStrategy;
 import invaders.strategy.ProjectileStrategy;
 import invaders.strategy.SlowProjectileStrategy;
-import javafx.scene.image.Image;
 
 public class EnemyProjectile extends Projectile{
     private ProjectileStrategy strategy;
     private int score;
 
-    public EnemyProjectile(Vector2D position, ProjectileStrategy strategy, Image image) {
-        super(position,image);
+    public EnemyProjectile(Vector2D position, ProjectileStrategy strategy, Sprite sprite) {
+        super(position,sprite);
+        setStrategy(strategy);
+    }
+
+    void reset(Vector2D position, ProjectileStrategy strategy, Sprite sprite) {
+        reset(position, sprite);
+        setStrategy(strategy);
+    }
+
+    private void setStrategy(ProjectileStrategy strategy) {
         this.strategy = strategy;
+        this.score = 0;
         if (strategy instanceof FastProjectileStrategy) {
             this.score = 2;
         } else if (strategy instanceof SlowProjectileStrategy) {
@@ -23,10 +34,10 @@ public class EnemyProjectile extends Projectile{
     }
 
     @Override
-    public void update(GameEngine model) {
-        strategy.update(this);
+    public void update(GameEngine model, double seconds) {
+        strategy.update(this, seconds);
 
-        if(this.getPosition().getY()>= model.getGameHeight() - this.getImage().getHeight()){
+        if(this.getPosition().getY()>= model.getGameHeight() - this.getHeight()){
             this.takeDamage(1);
         }
 
@@ -36,6 +47,11 @@ public class EnemyProjectile extends Projectile{
         return "EnemyProjectile";
     }
 
+    @Override
+    public int getCollisionCategory() {
+        return CollisionFilter.ENEMY_PROJECTILE;
+    }
+
     public int getScore(){
         return this.score;
     }
@@ -1,12 +1,31 @@
 package invaders.factory;
 
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.ProjectileStrategy;
-import javafx.scene.image.Image;
 
 public class EnemyProjectileFactory implements ProjectileFactory{
+    private static final int POOL_CAPACITY = 512;
+    private final ProjectilePool<EnemyProjectile> pool = new ProjectilePool<>(POOL_CAPACITY);
+
+    @Override
+    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Sprite sprite) {
+        EnemyProjectile projectile = pool.acquire();
+        if (projectile == null) {
+            return new EnemyProjectile(new Vector2D(position), strategy, sprite);
+        }
+        projectile.reset(position, strategy, sprite);
+        return projectile;
+    }
+
     @Override
-    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Image image) {
-        return new EnemyProjectile(position,strategy,image);
+    public void release(Projectile projectile) {
+        if (projectile instanceof EnemyProjectile) {
+            pool.release((EnemyProjectile) projectile);
+        }
+    }
+
+    public ProjectilePool<EnemyProjectile> getPool() {
+        return pool;
     }
 }
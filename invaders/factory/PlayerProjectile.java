@@ -1,24 +1,29 @@
 package invaders.factory;
 
 import invaders.engine.GameEngine;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.ProjectileStrategy;
-import javafx.scene.image.Image;
-
-import java.io.File;
 
 public class PlayerProjectile extends Projectile {
+    private static final Sprite PLAYER_SHOT = new Sprite("src/main/resources/player_shot.png", 10, 10);
     private ProjectileStrategy strategy;
 
     public PlayerProjectile(Vector2D position, ProjectileStrategy strategy) {
-        super(position, new Image(new File("src/main/resources/player_shot.png").toURI().toString(), 10, 10, true, true));
+        super(position, PLAYER_SHOT);
+        this.strategy = strategy;
+    }
+
+    void reset(Vector2D position, ProjectileStrategy strategy) {
+        reset(position, PLAYER_SHOT);
         this.strategy = strategy;
     }
     @Override
-    public void update(GameEngine model) {
-        strategy.update(this);
+    public void update(GameEngine model, double seconds) {
+        strategy.update(this, seconds);
 
-        if(this.getPosition().getY() <= this.getImage().getHeight()){
+        if(this.getPosition().getY() <= this.getHeight()){
             this.takeDamage(1);
         }
     }
@@ -26,4 +31,9 @@ public class PlayerProjectile extends Projectile {
     public String getRenderableObjectName() {
         return "PlayerProjectile";
     }
+
+    @Override
+    public int getCollisionCategory() {
+        return CollisionFilter.PLAYER_PROJECTILE;
+    }
 }
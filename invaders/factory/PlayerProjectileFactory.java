@@ -1,14 +1,31 @@
 package invaders.factory;
 
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.ProjectileStrategy;
-import javafx.scene.image.Image;
-
-import java.io.File;
 
 public class PlayerProjectileFactory implements ProjectileFactory{
+    private static final int POOL_CAPACITY = 64;
+    private final ProjectilePool<PlayerProjectile> pool = new ProjectilePool<>(POOL_CAPACITY);
+
     @Override
-    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Image image) {
-        return new PlayerProjectile(new Vector2D(position.getX(),position.getY()),strategy);
+    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Sprite sprite) {
+        PlayerProjectile projectile = pool.acquire();
+        if (projectile == null) {
+            return new PlayerProjectile(new Vector2D(position.getX(),position.getY()),strategy);
+        }
+        projectile.reset(position, strategy);
+        return projectile;
+    }
+
+    @Override
+    public void release(Projectile projectile) {
+        if (projectile instanceof PlayerProjectile) {
+            pool.release((PlayerProjectile) projectile);
+        }
+    }
+
+    public ProjectilePool<PlayerProjectile> getPool() {
+        return pool;
     }
 }
@@ -4,16 +4,36 @@ import invaders.gameobject.GameObject;
 import invaders.physics.Collider;
 import invaders.physics.Vector2D;
 import invaders.rendering.Renderable;
-import javafx.scene.image.Image;
+import invaders.rendering.Sprite;
 
 public abstract class Projectile implements Renderable, GameObject {
     private int lives = 1;
     private Vector2D position;
-    private final Image image;
+    private Sprite sprite;
+    private boolean pooled;
 
-    public Projectile(Vector2D position, Image image) {
+    public Projectile(Vector2D position, Sprite sprite) {
         this.position = position;
-        this.image = image;
+        this.sprite = sprite;
+    }
+
+    /**
+     * Brings a pooled projectile back to life at a new position.
+     * The position object itself is kept, since views hold on to it.
+     */
+    protected void reset(Vector2D position, Sprite sprite) {
+        this.position.setX(position.getX());
+        this.position.setY(position.getY());
+        this.sprite = sprite;
+        this.lives = 1;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
     }
 
     @Override
@@ -22,8 +42,8 @@ public abstract class Projectile implements Renderable, GameObject {
     }
 
     @Override
-    public Image getImage() {
-        return image;
+    public Sprite getSprite() {
+        return sprite;
     }
 
     @Override
@@ -49,6 +69,10 @@ public abstract class Projectile implements Renderable, GameObject {
         this.lives-=1;
     }
 
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
     @Override
     public double getHealth() {
         return this.lives;
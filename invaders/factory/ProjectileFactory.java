@@ -1,11 +1,14 @@
 package invaders.factory;
 
 import invaders.physics.Vector2D;
+import invaders.rendering.Sprite;
 import invaders.strategy.ProjectileStrategy;
-import javafx.scene.image.Image;
-
-import java.util.Vector;
 
 public interface ProjectileFactory {
-    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Image image);
+    public Projectile createProjectile(Vector2D position, ProjectileStrategy strategy, Sprite sprite);
+
+    /**
+     * Hands a dead projectile back so a later createProjectile call can reuse it
+     */
+    public void release(Projectile projectile);
 }
@@ -0,0 +1,66 @@
+package invaders.factory;
+
+import java.util.ArrayDeque;
+
+/**
+ * A bounded stack of dead projectiles waiting to be reused.
+ * Released projectiles beyond the capacity are simply dropped for the garbage collector.
+ */
+public class ProjectilePool<T extends Projectile> {
+    private final ArrayDeque<T> free;
+    private final int capacity;
+    private int highWaterMark;
+    private long misses;
+
+    public ProjectilePool(int capacity) {
+        this.capacity = capacity;
+        this.free = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * @return a pooled projectile, or null (counted as a miss) if the pool is empty
+     */
+    public T acquire() {
+        T projectile = free.pollLast();
+        if (projectile == null) {
+            misses++;
+            return null;
+        }
+        projectile.setPooled(false);
+        return projectile;
+    }
+
+    public void release(T projectile) {
+        if (projectile.isPooled() || free.size() >= capacity) {
+            return;
+        }
+        projectile.setPooled(true);
+        free.addLast(projectile);
+        highWaterMark = Math.max(highWaterMark, free.size());
+    }
+
+    /**
+     * Number of projectiles currently waiting in the pool
+     */
+    public int getSize() {
+        return free.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The most projectiles the pool has held at once
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Number of acquires that found the pool empty and had to allocate
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
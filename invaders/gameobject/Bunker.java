@@ -2,18 +2,19 @@ package invaders.gameobject;
 
 import invaders.engine.GameEngine;
 import invaders.physics.Collider;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Vector2D;
 import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
 import invaders.state.BunkerState;
 import invaders.state.GreenState;
-import javafx.scene.image.Image;
 
 public class Bunker implements GameObject, Renderable {
     private Vector2D position;
     private double width;
     private double height;
     private int lives;
-    private Image image;
+    private Sprite sprite;
     private BunkerState state = new GreenState(this);
 
 
@@ -21,7 +22,7 @@ public class Bunker implements GameObject, Renderable {
     public void start() {}
 
     @Override
-    public void update(GameEngine model) {
+    public void update(GameEngine model, double seconds) {
         /*
         Logic TBD
          */
@@ -43,8 +44,8 @@ public class Bunker implements GameObject, Renderable {
     }
 
     @Override
-    public Image getImage() {
-        return image;
+    public Sprite getSprite() {
+        return sprite;
     }
 
     @Override
@@ -63,6 +64,11 @@ public class Bunker implements GameObject, Renderable {
         return "Bunker";
     }
 
+    @Override
+    public int getCollisionCategory() {
+        return CollisionFilter.BUNKER;
+    }
+
     @Override
 	public boolean isAlive(){
 	    return this.lives > 0;
@@ -95,8 +101,8 @@ public class Bunker implements GameObject, Renderable {
         this.lives = lives;
     }
 
-    public void setImage(Image image) {
-        this.image = image;
+    public void setSprite(Sprite sprite) {
+        this.sprite = sprite;
     }
 
     public BunkerState getState() {
@@ -1,101 +1,86 @@
 package invaders.gameobject;
 
 import invaders.engine.GameEngine;
-import invaders.factory.EnemyProjectileFactory;
 import invaders.factory.Projectile;
-import invaders.factory.ProjectileFactory;
-import invaders.observer.GameEventPublisher;
-import invaders.observer.ScoreEvent;
+import invaders.observer.GameEventBus;
+import invaders.physics.CollisionFilter;
 import invaders.physics.Vector2D;
 import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
 import invaders.strategy.FastProjectileStrategy;
 import invaders.strategy.ProjectileStrategy;
 import invaders.strategy.SlowProjectileStrategy;
-import javafx.scene.image.Image;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 
 public class Enemy implements GameObject, Renderable {
     private Vector2D position;
     private int lives = 1;
-    private Image image;
+    private Sprite sprite;
     private int xVel = -1;
     private int score;
 
     private ArrayList<Projectile> enemyProjectile;
-    private ArrayList<Projectile> pendingToDeleteEnemyProjectile;
     private ProjectileStrategy projectileStrategy;
-    private ProjectileFactory projectileFactory;
-    private Image projectileImage;
-    private Random random = new Random();
-    private GameEventPublisher publisher;
+    private Sprite projectileSprite;
+    private GameEventBus eventBus;
+    // projectiles per second
+    private static final double FIRE_RATE = 1;
 
 
     public Enemy(Vector2D position) {
         this.position = position;
-        this.projectileFactory = new EnemyProjectileFactory();
         this.enemyProjectile = new ArrayList<>();
-        this.pendingToDeleteEnemyProjectile = new ArrayList<>();
     }
 
     @Override
     public void start() {}
 
+    /**
+     * Moving, firing and reaching the player are up to the EnemyFormation, and the engine reaps dead projectiles
+     */
     @Override
-    public void update(GameEngine engine) {
-        if(enemyProjectile.size()<3){
-            if(this.isAlive() &&  random.nextInt(120)==20){
-                Projectile p = projectileFactory.createProjectile(new Vector2D(position.getX() + this.image.getWidth() / 2, position.getY() + image.getHeight() + 2),projectileStrategy, projectileImage);
-                enemyProjectile.add(p);
-                engine.getPendingToAddGameObject().add(p);
-                engine.getPendingToAddRenderable().add(p);
+    public void update(GameEngine engine, double seconds) {}
+
+    /**
+     * Forgets the projectiles of this enemy that are gone, so they can go back to the pool.
+     * Called by the engine just before it reaps them.
+     */
+    public void dropDeadProjectiles() {
+        for (int i = enemyProjectile.size() - 1; i >= 0; i--) {
+            if (!enemyProjectile.get(i).isAlive()) {
+                enemyProjectile.remove(i);
             }
-        }else{
-            pendingToDeleteEnemyProjectile.clear();
-            for(Projectile p : enemyProjectile){
-                if(!p.isAlive()){
-                    engine.getPendingToRemoveGameObject().add(p);
-                    engine.getPendingToRemoveRenderable().add(p);
-                    pendingToDeleteEnemyProjectile.add(p);
-                }
-            }
-
-            for(Projectile p: pendingToDeleteEnemyProjectile){
-                enemyProjectile.remove(p);
-            }
-        }
-
-        if(this.position.getX()<=this.image.getWidth() || this.position.getX()>=(engine.getGameWidth()-this.image.getWidth()-1)){
-            this.position.setY(this.position.getY()+25);
-            xVel*=-1;
         }
+    }
 
-        this.position.setX(this.position.getX() + xVel);
-
-        if((this.position.getY()+this.image.getHeight())>=engine.getPlayer().getPosition().getY()){
-            engine.getPlayer().takeDamage(Integer.MAX_VALUE);
+    /**
+     * Fires a projectile once a second on average, as long as fewer than three of this enemy's projectiles are in the game.
+     * The formation only calls this for the lowest enemy of each column.
+     * @param seconds the simulation time since the last call
+     */
+    public void tryShoot(GameEngine engine, double seconds) {
+        if(enemyProjectile.size()<3 && this.isAlive() && engine.getRandom().nextDouble() < FIRE_RATE * seconds){
+            Projectile p = engine.getEnemyProjectileFactory().createProjectile(new Vector2D(position.getX() + this.getWidth() / 2, position.getY() + this.getHeight() + 2),projectileStrategy, projectileSprite);
+            enemyProjectile.add(p);
+            engine.spawn(p);
         }
-
-        /*
-        Logic TBD
-         */
-
     }
 
     @Override
-    public Image getImage() {
-        return this.image;
+    public Sprite getSprite() {
+        return this.sprite;
     }
 
     @Override
     public double getWidth() {
-        return this.image.getWidth();
+        return this.sprite.getWidth();
     }
 
     @Override
     public double getHeight() {
-       return this.image.getHeight();
+       return this.sprite.getHeight();
     }
 
     @Override
@@ -116,24 +101,31 @@ public class Enemy implements GameObject, Renderable {
         this.lives = lives;
     }
 
-    public void setImage(Image image) {
-        this.image = image;
+    public void setSprite(Sprite sprite) {
+        this.sprite = sprite;
+    }
+
+    /**
+     * The event bus of the engine this enemy is in, which is told about the points when it dies
+     */
+    public void setEventBus(GameEventBus eventBus) {
+        this.eventBus = eventBus;
     }
 
-    public void setProjectileImage(Image projectileImage) {
-        this.projectileImage = projectileImage;
+    public void setProjectileSprite(Sprite projectileSprite) {
+        this.projectileSprite = projectileSprite;
     }
 
-    public Image getProjectileImage(){
-        return this.projectileImage;
+    public Sprite getProjectileSprite(){
+        return this.projectileSprite;
     }
 
     @Override
     public void takeDamage(double amount) {
         this.lives-=1;
         if (this.lives <= 0) {
-            System.out.println("Enemy score to publish: " + this.score); // Test
-            GameEventPublisher.getInstance().publishScoreEvent(new ScoreEvent(this.score));
+//            System.out.println("Enemy score to publish: " + this.score); // Test
+            eventBus.publishScore(this.score);
         }
     }
 
@@ -147,6 +139,11 @@ public class Enemy implements GameObject, Renderable {
         return "Enemy";
     }
 
+    @Override
+    public int getCollisionCategory() {
+        return CollisionFilter.ENEMY;
+    }
+
     @Override
     public boolean isAlive() {
         return this.lives>0;
@@ -161,6 +158,13 @@ public class Enemy implements GameObject, Renderable {
         }
     }
 
+    /**
+     * The projectiles this enemy fired that are still in the game; it only fires while it has fewer than three
+     */
+    public List<Projectile> getEnemyProjectiles() {
+        return enemyProjectile;
+    }
+
     public ProjectileStrategy getProjectileStrategy(){
         return this.projectileStrategy;
     }
@@ -0,0 +1,174 @@
+package invaders.gameobject;
+
+import invaders.engine.GameEngine;
+import invaders.physics.Vector2D;
+import invaders.rendering.Renderable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves all enemies of an engine as one block, like the original arcade game.
+ * Once per tick it finds the bounding box of the living enemies, decides whether the block has reached an edge
+ * (then every enemy drops 25px and the direction flips), and moves everyone by the same amount.
+ * <p>
+ * Enemies are grouped into columns by x. Only the lowest living enemy of each column may fire, and only the lowest
+ * ones can reach the player's line, so both checks look at one enemy per column.
+ */
+public class EnemyFormation {
+    private static final double DROP = 25;
+    // pixels per second
+    private static final double SPEED = 120;
+
+    private final List<Enemy> members = new ArrayList<>();
+    private int[] memberColumns = new int[0];
+    private Enemy[] lowest = new Enemy[0];
+    private int columnCount;
+    private int direction = -1;
+    private boolean stale = true;
+    // set when a loaded game gives the direction, so the rebuild doesn't take it from the enemies
+    private boolean directionGiven;
+
+    /**
+     * Makes the formation look for its enemies again on the next update, e.g. after enemies were added or restored.
+     * Killed enemies don't need it: they stay in their column, skipped, until the next rebuild.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Moves the formation, lets the lowest enemies fire and damages the player if an enemy reached them
+     * @param seconds the simulation time this update covers
+     */
+    public void update(GameEngine engine, double seconds) {
+        if (stale) {
+            rebuild(engine.getRenderables());
+        }
+
+        // one pass for the bounding box and the lowest enemy of each column
+        double minSlack = Double.POSITIVE_INFINITY;
+        double maxSlack = Double.NEGATIVE_INFINITY;
+        Arrays.fill(lowest, 0, columnCount, null);
+        for (int i = 0; i < members.size(); i++) {
+            Enemy enemy = members.get(i);
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            Vector2D position = enemy.getPosition();
+            minSlack = Math.min(minSlack, position.getX() - enemy.getWidth());
+            maxSlack = Math.max(maxSlack, position.getX() + enemy.getWidth() + 1 - engine.getGameWidth());
+            int column = memberColumns[i];
+            if (lowest[column] == null || position.getY() > lowest[column].getPosition().getY()) {
+                lowest[column] = enemy;
+            }
+        }
+        if (minSlack == Double.POSITIVE_INFINITY) {
+            return;
+        }
+
+        boolean reverse = (direction < 0 && minSlack <= 0) || (direction > 0 && maxSlack >= 0);
+        if (reverse) {
+            direction = -direction;
+        }
+        for (Enemy enemy : members) {
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            Vector2D position = enemy.getPosition();
+            if (reverse) {
+                position.setY(position.getY() + DROP);
+                enemy.setxVel(direction);
+            }
+            position.setX(position.getX() + direction * SPEED * seconds);
+        }
+
+        double playerLine = engine.getPlayer().getPosition().getY();
+        for (int column = 0; column < columnCount; column++) {
+            Enemy enemy = lowest[column];
+            if (enemy == null) {
+                continue;
+            }
+            enemy.tryShoot(engine, seconds);
+            if (enemy.getPosition().getY() + enemy.getHeight() >= playerLine) {
+                engine.damage(engine.getPlayer(), Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @return the lowest living enemy of a column as of the last update, or null if the column is empty
+     */
+    public Enemy getLowest(int column) {
+        return lowest[column];
+    }
+
+    /**
+     * @return -1 while moving left, 1 while moving right
+     */
+    public int getDirection() {
+        return direction;
+    }
+
+    /**
+     * Sets the direction the formation moves in from the next update on, e.g. when a saved game is loaded
+     */
+    public void setDirection(int direction) {
+        this.direction = direction < 0 ? -1 : 1;
+        directionGiven = true;
+        stale = true;
+    }
+
+    private void rebuild(List<Renderable> renderables) {
+        members.clear();
+        for (Renderable renderable : renderables) {
+            if (renderable instanceof Enemy) {
+                members.add((Enemy) renderable);
+            }
+        }
+        stale = false;
+
+        // sort member indices by x; a new column starts wherever the gap is over half an enemy wide
+        long[] byX = new long[members.size()];
+        for (int i = 0; i < byX.length; i++) {
+            byX[i] = ((long) sortableBits((float) members.get(i).getPosition().getX()) << 32) | i;
+        }
+        Arrays.sort(byX);
+        memberColumns = new int[members.size()];
+        columnCount = 0;
+        double previousX = Double.NEGATIVE_INFINITY;
+        for (long key : byX) {
+            int i = (int) key;
+            Enemy enemy = members.get(i);
+            if (enemy.getPosition().getX() - previousX > enemy.getWidth() / 2) {
+                columnCount++;
+            }
+            memberColumns[i] = columnCount - 1;
+            previousX = enemy.getPosition().getX();
+        }
+        lowest = new Enemy[columnCount];
+
+        if (directionGiven) {
+            directionGiven = false;
+            return;
+        }
+        // restored enemies carry the direction they were moving in
+        for (Enemy enemy : members) {
+            if (enemy.isAlive()) {
+                direction = enemy.getxVel() < 0 ? -1 : 1;
+                break;
+            }
+        }
+    }
+
+    // float bits that compare as signed ints in the same order as the floats
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+}
@@ -6,6 +6,11 @@ import invaders.engine.GameEngine;
 public interface GameObject {
 
     public void start();
-    public void update(GameEngine model);
+    /**
+     * Objects may be updated on several threads at once, so an update only changes the object itself
+     * and asks the engine for anything else (spawn, despawn, damage), which is applied once every object is updated.
+     * @param seconds the simulation time this update covers
+     */
+    public void update(GameEngine model, double seconds);
 
 }
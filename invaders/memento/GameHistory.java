@@ -0,0 +1,585 @@
+package invaders.memento;
+
+import invaders.engine.GameEngine;
+import invaders.factory.EnemyProjectile;
+import invaders.gameobject.Enemy;
+import invaders.physics.Vector2D;
+import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
+import invaders.strategy.FastProjectileStrategy;
+import invaders.strategy.ProjectileStrategy;
+import invaders.strategy.SlowProjectileStrategy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded multi-level undo history, the caretaker of the game mementos.
+ * Every keyframeInterval-th save is a keyframe holding all enemies and enemy projectiles; the saves in between
+ * only hold the entities and fields that changed since the save before them, so saving often stays cheap.
+ * Restoring decodes the nearest keyframe and replays the deltas after it.
+ * When the history is full, the oldest keyframe is dropped together with the deltas that depend on it.
+ */
+public class GameHistory {
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+
+    // entity kinds
+    private static final byte ENEMY = 0;
+    private static final byte ENEMY_PROJECTILE = 1;
+
+    // projectile strategies
+    private static final byte NO_STRATEGY = 0;
+    private static final byte FAST = 1;
+    private static final byte SLOW = 2;
+
+    // which fields follow the id of an encoded entity
+    private static final int KIND = 1;
+    private static final int POSITION = 1 << 1;
+    private static final int LIVES = 1 << 2;
+    private static final int X_VEL = 1 << 3;
+    private static final int SPRITES = 1 << 4;
+    private static final int ALL_FIELDS = KIND | POSITION | LIVES | X_VEL | SPRITES;
+
+    private static final int END_OF_ENTITIES = -1;
+
+    private final int capacity;
+    private final int keyframeInterval;
+    private final List<GameMemento> slots = new ArrayList<>();
+    private int slotsSinceKeyframe;
+
+    // every saved object gets an id, so a delta can refer to the same entity in the slot before it.
+    // An id is freed once a save no longer holds its object and handed to the next new one, so ids (and the
+    // State arrays indexed by them) scale with the objects alive at a time, not with all objects ever saved.
+    private final Map<Renderable, Integer> ids = new IdentityHashMap<>();
+    private Renderable[] owners = new Renderable[16];
+    private int nextId;
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private final List<Sprite> sprites = new ArrayList<>();
+    private final Map<Sprite, Integer> spriteIndices = new HashMap<>();
+
+    // decoded state of the newest slot, the next delta is taken against it
+    private State newest = new State();
+    private State current = new State();
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    // the strategies keep no state, so restored entities can share them
+    private final ProjectileStrategy fastStrategy = new FastProjectileStrategy();
+    private final ProjectileStrategy slowStrategy = new SlowProjectileStrategy();
+
+    public GameHistory(int capacity, int keyframeInterval) {
+        if (keyframeInterval <= 0 || capacity < keyframeInterval) {
+            throw new IllegalArgumentException("The history must hold at least one keyframe interval!");
+        }
+        this.capacity = capacity;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Saves the enemies and the live enemy projectiles among the renderables, with the score and time.
+     * Player projectiles are not restored (the engine keeps them), so they are not saved either.
+     */
+    public void save(List<Renderable> renderables, int score, float timeElapsed) {
+        current.clear();
+        for (Renderable renderable : renderables) {
+            if (renderable instanceof Enemy) {
+                capture(current, idOf(renderable), (Enemy) renderable);
+            } else if (renderable instanceof EnemyProjectile && renderable.isAlive()) {
+                capture(current, idOf(renderable), (EnemyProjectile) renderable);
+            }
+        }
+        releaseUnsavedIds(current);
+
+        boolean keyframe = slots.isEmpty() || slotsSinceKeyframe == keyframeInterval;
+        if (keyframe) {
+            newest.clear();
+            slotsSinceKeyframe = 0;
+        }
+        slots.add(new GameMemento(encode(newest, current), keyframe, score, timeElapsed));
+        slotsSinceKeyframe++;
+
+        State previous = newest;
+        newest = current;
+        current = previous;
+
+        if (slots.size() > capacity) {
+            // the deltas after the oldest keyframe can't be decoded without it
+            slots.remove(0);
+            while (!slots.get(0).isKeyframe()) {
+                slots.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Takes the newest slot off the history and puts its enemies and projectiles, score and time back into the engine.
+     * The engine is expected to have removed its own enemies and enemy projectiles already.
+     * @return the restored slot, or null if the history is empty
+     */
+    public GameMemento restore(GameEngine gameEngine) {
+        if (slots.isEmpty()) {
+            return null;
+        }
+        GameMemento target = slots.remove(slots.size() - 1);
+
+        // later saves are taken against the slot that is now the newest
+        decodeNewest(newest);
+        State restored = current;
+        restored.clear();
+        if (!target.isKeyframe()) {
+            restored.copyFrom(newest);
+        }
+        decode(target, restored);
+
+        // old objects may come back from the projectile pool, so only the restored ones keep their ids
+        ids.clear();
+        Arrays.fill(owners, null);
+        List<Renderable> copies = new ArrayList<>(restored.size);
+        for (int i = 0; i < restored.size; i++) {
+            int id = restored.order[i];
+            Renderable copy = createEntity(restored, id);
+            if (copy instanceof Enemy) {
+                ((Enemy) copy).setEventBus(gameEngine.getEventBus());
+            }
+            ids.put(copy, id);
+            owners[id] = copy;
+            copies.add(copy);
+        }
+        freeCount = 0;
+        for (int id = nextId - 1; id >= 0; id--) {
+            if (owners[id] == null) {
+                pushFreeId(id);
+            }
+        }
+        gameEngine.addAllRenderablesAndGameObjects(copies);
+
+        // Restore the score and time elapsed
+        gameEngine.setScore(target.getScoreSnapshot());
+        gameEngine.setTimeElapsed(target.getTimeElapsedSnapshot());
+        return target;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getKeyframeCount() {
+        int count = 0;
+        for (GameMemento slot : slots) {
+            if (slot.isKeyframe()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return roughly how many bytes the history keeps alive: the encoded slots plus the decoded working state
+     */
+    public long getFootprintBytes() {
+        long footprint = newest.getFootprintBytes() + current.getFootprintBytes();
+        for (GameMemento slot : slots) {
+            footprint += slot.getFootprintBytes();
+        }
+        return footprint;
+    }
+
+    /**
+     * @return how many ids are in use or free for reuse; the decoded states hold this many entries
+     */
+    int getIdCount() {
+        return nextId;
+    }
+
+    private int idOf(Renderable renderable) {
+        Integer id = ids.get(renderable);
+        if (id == null) {
+            id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+            if (id >= owners.length) {
+                owners = Arrays.copyOf(owners, Math.max(id + 1, owners.length * 2));
+            }
+            owners[id] = renderable;
+            ids.put(renderable, id);
+        }
+        return id;
+    }
+
+    // frees the ids of objects the save didn't hold; older slots still name them, but only in the entity lists
+    // they were removed from, so a later delta may use the id again for a new entity
+    private void releaseUnsavedIds(State saved) {
+        for (int id = 0; id < nextId; id++) {
+            if (owners[id] != null && !saved.contains(id)) {
+                ids.remove(owners[id]);
+                owners[id] = null;
+                pushFreeId(id);
+            }
+        }
+    }
+
+    private void pushFreeId(int id) {
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    private int spriteIndexOf(Sprite sprite) {
+        if (sprite == null) {
+            return -1;
+        }
+        Integer index = spriteIndices.get(sprite);
+        if (index == null) {
+            index = sprites.size();
+            sprites.add(sprite);
+            spriteIndices.put(sprite, index);
+        }
+        return index;
+    }
+
+    private static byte strategyOf(ProjectileStrategy strategy) {
+        if (strategy instanceof FastProjectileStrategy) {
+            return FAST;
+        } else if (strategy instanceof SlowProjectileStrategy) {
+            return SLOW;
+        }
+        return NO_STRATEGY;
+    }
+
+    private ProjectileStrategy strategyFor(byte strategy) {
+        if (strategy == FAST) {
+            return fastStrategy;
+        } else if (strategy == SLOW) {
+            return slowStrategy;
+        }
+        return null;
+    }
+
+    private void capture(State state, int id, Enemy enemy) {
+        if (!state.add(id)) {
+            return;
+        }
+        state.kind[id] = ENEMY;
+        state.strategy[id] = strategyOf(enemy.getProjectileStrategy());
+        state.x[id] = enemy.getPosition().getX();
+        state.y[id] = enemy.getPosition().getY();
+        state.lives[id] = (int) enemy.getHealth();
+        state.xVel[id] = enemy.getxVel();
+        state.sprite[id] = spriteIndexOf(enemy.getSprite());
+        state.projectileSprite[id] = spriteIndexOf(enemy.getProjectileSprite());
+    }
+
+    private void capture(State state, int id, EnemyProjectile projectile) {
+        if (!state.add(id)) {
+            return;
+        }
+        state.kind[id] = ENEMY_PROJECTILE;
+        state.strategy[id] = strategyOf(projectile.getStrategy());
+        state.x[id] = projectile.getPosition().getX();
+        state.y[id] = projectile.getPosition().getY();
+        state.lives[id] = (int) projectile.getHealth();
+        state.xVel[id] = 0;
+        state.sprite[id] = spriteIndexOf(projectile.getSprite());
+        state.projectileSprite[id] = -1;
+    }
+
+    private Renderable createEntity(State state, int id) {
+        Vector2D position = new Vector2D(state.x[id], state.y[id]);
+        Sprite sprite = state.sprite[id] < 0 ? null : sprites.get(state.sprite[id]);
+        if (state.kind[id] == ENEMY) {
+            Enemy enemy = new Enemy(position);
+            enemy.setLives(state.lives[id]);
+            enemy.setSprite(sprite);
+            enemy.setProjectileSprite(state.projectileSprite[id] < 0 ? null : sprites.get(state.projectileSprite[id]));
+            enemy.setxVel(state.xVel[id]);
+            enemy.setProjectileStrategy(strategyFor(state.strategy[id]));
+            return enemy;
+        }
+        // only live projectiles are saved
+        return new EnemyProjectile(position, strategyFor(state.strategy[id]), sprite);
+    }
+
+    /*
+     * Encoding of a slot: the number of removed entities and their ids, then each new or changed entity as
+     * id, field mask and the masked fields, ended by END_OF_ENTITIES, then the entity order. The order is usually
+     * implied (survivors keep their order, new entities are appended) and only written out when it isn't.
+     */
+    private byte[] encode(State previous, State next) {
+        bytes.reset();
+        try {
+            int removed = 0;
+            for (int i = 0; i < previous.size; i++) {
+                if (!next.contains(previous.order[i])) {
+                    removed++;
+                }
+            }
+            out.writeInt(removed);
+            for (int i = 0; i < previous.size; i++) {
+                int id = previous.order[i];
+                if (!next.contains(id)) {
+                    out.writeInt(id);
+                }
+            }
+
+            for (int i = 0; i < next.size; i++) {
+                int id = next.order[i];
+                int mask = previous.contains(id) ? changedFields(previous, next, id) : ALL_FIELDS;
+                if (mask != 0) {
+                    writeEntity(next, id, mask);
+                }
+            }
+            out.writeInt(END_OF_ENTITIES);
+
+            if (isOrderImplied(previous, next)) {
+                out.writeBoolean(false);
+            } else {
+                out.writeBoolean(true);
+                out.writeInt(next.size);
+                for (int i = 0; i < next.size; i++) {
+                    out.writeInt(next.order[i]);
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // a ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int changedFields(State previous, State next, int id) {
+        int mask = 0;
+        if (previous.kind[id] != next.kind[id] || previous.strategy[id] != next.strategy[id]) {
+            mask |= KIND;
+        }
+        if (previous.x[id] != next.x[id] || previous.y[id] != next.y[id]) {
+            mask |= POSITION;
+        }
+        if (previous.lives[id] != next.lives[id]) {
+            mask |= LIVES;
+        }
+        if (previous.xVel[id] != next.xVel[id]) {
+            mask |= X_VEL;
+        }
+        if (previous.sprite[id] != next.sprite[id] || previous.projectileSprite[id] != next.projectileSprite[id]) {
+            mask |= SPRITES;
+        }
+        return mask;
+    }
+
+    private void writeEntity(State state, int id, int mask) throws IOException {
+        out.writeInt(id);
+        out.writeByte(mask);
+        if ((mask & KIND) != 0) {
+            out.writeByte(state.kind[id]);
+            out.writeByte(state.strategy[id]);
+        }
+        if ((mask & POSITION) != 0) {
+            out.writeDouble(state.x[id]);
+            out.writeDouble(state.y[id]);
+        }
+        if ((mask & LIVES) != 0) {
+            out.writeInt(state.lives[id]);
+        }
+        if ((mask & X_VEL) != 0) {
+            out.writeInt(state.xVel[id]);
+        }
+        if ((mask & SPRITES) != 0) {
+            out.writeShort(state.sprite[id]);
+            out.writeShort(state.projectileSprite[id]);
+        }
+    }
+
+    // true if the entities kept from the previous slot are still in the same order, with the new ones after them
+    private static boolean isOrderImplied(State previous, State next) {
+        int p = 0;
+        boolean seenNew = false;
+        for (int i = 0; i < next.size; i++) {
+            int id = next.order[i];
+            if (!previous.contains(id)) {
+                seenNew = true;
+                continue;
+            }
+            if (seenNew) {
+                return false;
+            }
+            while (p < previous.size && !next.contains(previous.order[p])) {
+                p++;
+            }
+            if (p == previous.size || previous.order[p] != id) {
+                return false;
+            }
+            p++;
+        }
+        return true;
+    }
+
+    private void decode(GameMemento slot, State state) {
+        ByteBuffer in = ByteBuffer.wrap(slot.getEntities());
+        int removed = in.getInt();
+        for (int i = 0; i < removed; i++) {
+            state.present[in.getInt()] = false;
+        }
+        state.compact();
+
+        for (int id = in.getInt(); id != END_OF_ENTITIES; id = in.getInt()) {
+            if (!state.contains(id)) {
+                state.add(id);
+            }
+            int mask = in.get();
+            if ((mask & KIND) != 0) {
+                state.kind[id] = in.get();
+                state.strategy[id] = in.get();
+            }
+            if ((mask & POSITION) != 0) {
+                state.x[id] = in.getDouble();
+                state.y[id] = in.getDouble();
+            }
+            if ((mask & LIVES) != 0) {
+                state.lives[id] = in.getInt();
+            }
+            if ((mask & X_VEL) != 0) {
+                state.xVel[id] = in.getInt();
+            }
+            if ((mask & SPRITES) != 0) {
+                state.sprite[id] = in.getShort();
+                state.projectileSprite[id] = in.getShort();
+            }
+        }
+
+        if (in.get() != 0) {
+            int size = in.getInt();
+            for (int i = 0; i < size; i++) {
+                state.order[i] = in.getInt();
+            }
+            state.size = size;
+        }
+    }
+
+    // decodes the newest slot: its keyframe and every delta after it
+    private void decodeNewest(State state) {
+        state.clear();
+        if (slots.isEmpty()) {
+            slotsSinceKeyframe = 0;
+            return;
+        }
+        int keyframe = slots.size() - 1;
+        while (!slots.get(keyframe).isKeyframe()) {
+            keyframe--;
+        }
+        for (int i = keyframe; i < slots.size(); i++) {
+            decode(slots.get(i), state);
+        }
+        slotsSinceKeyframe = slots.size() - keyframe;
+    }
+
+    /**
+     * Entities by id, in flat arrays, plus the order they had among the renderables
+     */
+    private static final class State {
+        private boolean[] present = new boolean[0];
+        private byte[] kind = new byte[0];
+        private byte[] strategy = new byte[0];
+        private double[] x = new double[0];
+        private double[] y = new double[0];
+        private int[] lives = new int[0];
+        private int[] xVel = new int[0];
+        private int[] sprite = new int[0];
+        private int[] projectileSprite = new int[0];
+
+        private int[] order = new int[16];
+        private int size;
+
+        boolean contains(int id) {
+            return id < present.length && present[id];
+        }
+
+        /**
+         * @return false if the id is already there
+         */
+        boolean add(int id) {
+            if (id >= present.length) {
+                grow(Math.max(id + 1, present.length * 2));
+            }
+            if (present[id]) {
+                return false;
+            }
+            present[id] = true;
+            if (size == order.length) {
+                order = Arrays.copyOf(order, size * 2);
+            }
+            order[size++] = id;
+            return true;
+        }
+
+        // drops the ids that are no longer present from the order
+        void compact() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (present[order[i]]) {
+                    order[kept++] = order[i];
+                }
+            }
+            size = kept;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                present[order[i]] = false;
+            }
+            size = 0;
+        }
+
+        void copyFrom(State other) {
+            clear();
+            for (int i = 0; i < other.size; i++) {
+                int id = other.order[i];
+                add(id);
+                kind[id] = other.kind[id];
+                strategy[id] = other.strategy[id];
+                x[id] = other.x[id];
+                y[id] = other.y[id];
+                lives[id] = other.lives[id];
+                xVel[id] = other.xVel[id];
+                sprite[id] = other.sprite[id];
+                projectileSprite[id] = other.projectileSprite[id];
+            }
+        }
+
+        long getFootprintBytes() {
+            // per id: present, kind and strategy bytes, two doubles and four ints; plus the order
+            return (long) present.length * (3 + 2 * 8 + 4 * 4) + (long) order.length * 4;
+        }
+
+        private void grow(int length) {
+            present = Arrays.copyOf(present, length);
+            kind = Arrays.copyOf(kind, length);
+            strategy = Arrays.copyOf(strategy, length);
+            x = Arrays.copyOf(x, length);
+            y = Arrays.copyOf(y, length);
+            lives = Arrays.copyOf(lives, length);
+            xVel = Arrays.copyOf(xVel, length);
+            sprite = Arrays.copyOf(sprite, length);
+            projectileSprite = Arrays.copyOf(projectileSprite, length);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package invaders.memento;
+
+import invaders.engine.GameEngine;
+import invaders.entities.Player;
+import invaders.factory.EnemyProjectile;
+import invaders.factory.PlayerProjectile;
+import invaders.factory.Projectile;
+import invaders.gameobject.Bunker;
+import invaders.gameobject.Enemy;
+import invaders.physics.Vector2D;
+import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
+import invaders.state.GreenState;
+import invaders.state.RedState;
+import invaders.state.YellowState;
+import invaders.strategy.FastProjectileStrategy;
+import invaders.strategy.NormalProjectileStrategy;
+import invaders.strategy.ProjectileStrategy;
+import invaders.strategy.SlowProjectileStrategy;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary save file holding the whole engine state: the player, bunkers and their state,
+ * enemies with their projectiles, player projectiles, score, time, the shot timer, the tick, the state of the
+ * random generator and the formation's direction, so a loaded game plays on exactly like the saved one.
+ * Saves are written through a FileChannel; loads map the file and parse it straight from the mapped buffer.
+ *
+ * Layout (big-endian): magic, version, game size, score, time, shot timer, tick, random state, formation direction
+ * (the last three since version 2), the sprite table,
+ * then every renderable in engine order as a type byte, its position and the fields of that type.
+ */
+public final class GameSaveFile {
+    public static final int MAGIC = 0x494E5653; // "INVS"
+    public static final short VERSION = 2;
+
+    private static final byte PLAYER = 0;
+    private static final byte BUNKER = 1;
+    private static final byte ENEMY = 2;
+    private static final byte ENEMY_PROJECTILE = 3;
+    private static final byte PLAYER_PROJECTILE = 4;
+
+    private static final byte NO_STRATEGY = 0;
+    private static final byte FAST = 1;
+    private static final byte SLOW = 2;
+    private static final byte NORMAL = 3;
+
+    private static final byte GREEN = 0;
+    private static final byte YELLOW = 1;
+    private static final byte RED = 2;
+
+    private GameSaveFile() {}
+
+    /**
+     * Writes the state of the engine to the file, replacing it if it exists
+     */
+    public static void write(GameEngine engine, Path path) throws IOException {
+        List<Renderable> renderables = engine.getRenderables();
+        Map<Renderable, Integer> indices = new IdentityHashMap<>();
+        List<Sprite> sprites = new ArrayList<>();
+        Map<Sprite, Integer> spriteIndices = new HashMap<>();
+        int size = 4 + 2 + 4 * 4 + 4 + 8 + 8 + 1 + 4 + 4;
+        for (int i = 0; i < renderables.size(); i++) {
+            Renderable renderable = renderables.get(i);
+            indices.putIfAbsent(renderable, i);
+            size += recordSize(renderable);
+            size += spriteSize(renderable.getSprite(), sprites, spriteIndices);
+            if (renderable instanceof Enemy) {
+                size += spriteSize(((Enemy) renderable).getProjectileSprite(), sprites, spriteIndices);
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putInt(engine.getGameWidth());
+        out.putInt(engine.getGameHeight());
+        out.putInt(engine.getScore());
+        out.putFloat(engine.getTimeElapsed());
+        out.putInt(engine.getShotTimer());
+        out.putLong(engine.getTick());
+        out.putLong(engine.getRandomState());
+        out.put((byte) engine.getFormation().getDirection());
+
+        out.putInt(sprites.size());
+        for (Sprite sprite : sprites) {
+            byte[] spritePath = sprite.getPath().getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) spritePath.length);
+            out.put(spritePath);
+            out.putDouble(sprite.getWidth());
+            out.putDouble(sprite.getHeight());
+        }
+
+        out.putInt(renderables.size());
+        for (Renderable renderable : renderables) {
+            writeRecord(out, renderable, indices, spriteIndices);
+        }
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /**
+     * Replaces the state of the engine with the one in the file.
+     * The engine must have been created for a game of the same size; its player object is kept and updated.
+     */
+    public static void read(Path path, GameEngine engine) throws IOException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            read(in, engine);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Save file " + path + " is truncated or corrupt", e);
+        }
+    }
+
+    private static void read(ByteBuffer in, GameEngine engine) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not an invaders save file");
+        }
+        short version = in.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported save file version " + version);
+        }
+        int gameWidth = in.getInt();
+        int gameHeight = in.getInt();
+        if (gameWidth != engine.getGameWidth() || gameHeight != engine.getGameHeight()) {
+            throw new IOException("Save file is for a " + gameWidth + "x" + gameHeight + " game");
+        }
+        int score = in.getInt();
+        float timeElapsed = in.getFloat();
+        int shotTimer = in.getInt();
+        // version 1 files don't have these, the engine keeps its own
+        boolean hasTiming = version >= 2;
+        long tick = hasTiming ? in.getLong() : engine.getTick();
+        long randomState = hasTiming ? in.getLong() : engine.getRandomState();
+        int direction = hasTiming ? in.get() : 0;
+
+        // a sprite takes at least its path length and size
+        Sprite[] sprites = new Sprite[checkLength(in, in.getInt(), 2 + 8 + 8)];
+        for (int i = 0; i < sprites.length; i++) {
+            byte[] spritePath = new byte[checkLength(in, Short.toUnsignedInt(in.getShort()), 1)];
+            in.get(spritePath);
+            sprites[i] = new Sprite(new String(spritePath, StandardCharsets.UTF_8), in.getDouble(), in.getDouble());
+        }
+
+        // the strategies keep no state, so the loaded objects can share them
+        ProjectileStrategy[] strategies = {null, new FastProjectileStrategy(), new SlowProjectileStrategy(), new NormalProjectileStrategy()};
+        // the player is only touched once the whole file has been read
+        Player player = engine.getPlayer();
+        double playerX = player.getPosition().getX();
+        double playerY = player.getPosition().getY();
+        double playerHealth = player.getHealth();
+
+        // a record takes at least its type and position
+        int count = checkLength(in, in.getInt(), 1 + 8 + 8);
+        List<Renderable> renderables = new ArrayList<>(count);
+        Map<Enemy, int[]> ownedProjectiles = new IdentityHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byte type = in.get();
+            double x = in.getDouble();
+            double y = in.getDouble();
+            switch (type) {
+                case PLAYER:
+                    playerX = x;
+                    playerY = y;
+                    playerHealth = in.getDouble();
+                    renderables.add(player);
+                    break;
+                case BUNKER:
+                    renderables.add(readBunker(in, new Vector2D(x, y), sprites));
+                    break;
+                case ENEMY:
+                    Enemy enemy = new Enemy(new Vector2D(x, y));
+                    enemy.setEventBus(engine.getEventBus());
+                    enemy.setLives(in.getInt());
+                    enemy.setxVel(in.getInt());
+                    enemy.setProjectileStrategy(strategies[in.get()]);
+                    enemy.setSprite(spriteAt(sprites, in.getShort()));
+                    enemy.setProjectileSprite(spriteAt(sprites, in.getShort()));
+                    int[] owned = new int[checkLength(in, in.getInt(), 4)];
+                    for (int k = 0; k < owned.length; k++) {
+                        owned[k] = in.getInt();
+                    }
+                    ownedProjectiles.put(enemy, owned);
+                    renderables.add(enemy);
+                    break;
+                case ENEMY_PROJECTILE:
+                    int lives = in.getInt();
+                    ProjectileStrategy strategy = strategies[in.get()];
+                    Projectile enemyProjectile = new EnemyProjectile(new Vector2D(x, y), strategy, spriteAt(sprites, in.getShort()));
+                    enemyProjectile.setLives(lives);
+                    renderables.add(enemyProjectile);
+                    break;
+                case PLAYER_PROJECTILE:
+                    Projectile playerProjectile = new PlayerProjectile(new Vector2D(x, y), strategies[NORMAL]);
+                    playerProjectile.setLives(in.getInt());
+                    renderables.add(playerProjectile);
+                    break;
+                default:
+                    throw new IOException("Unknown object type " + type + " in save file");
+            }
+        }
+
+        // enemies only fire again once their own projectiles are gone, so they get them back
+        for (Map.Entry<Enemy, int[]> entry : ownedProjectiles.entrySet()) {
+            for (int index : entry.getValue()) {
+                entry.getKey().getEnemyProjectiles().add((Projectile) renderables.get(index));
+            }
+        }
+
+        player.getPosition().setX(playerX);
+        player.getPosition().setY(playerY);
+        player.setHealth(playerHealth);
+        engine.replaceAllRenderablesAndGameObjects(renderables);
+        engine.setScore(score);
+        engine.setTimeElapsed(timeElapsed);
+        engine.setShotTimer(shotTimer);
+        engine.setTick(tick);
+        engine.setRandomState(randomState);
+        if (direction != 0) {
+            engine.getFormation().setDirection(direction);
+        }
+    }
+
+    private static Bunker readBunker(ByteBuffer in, Vector2D position, Sprite[] sprites) throws IOException {
+        Bunker bunker = new Bunker();
+        bunker.setPosition(position);
+        bunker.setLives(in.getInt());
+        bunker.setWidth((int) in.getDouble());
+        bunker.setHeight((int) in.getDouble());
+        bunker.setSprite(spriteAt(sprites, in.getShort()));
+        byte state = in.get();
+        if (state == GREEN) {
+            bunker.setState(new GreenState(bunker));
+        } else if (state == YELLOW) {
+            bunker.setState(new YellowState(bunker));
+        } else if (state == RED) {
+            bunker.setState(new RedState(bunker));
+        } else {
+            throw new IOException("Unknown bunker state " + state + " in save file");
+        }
+        return bunker;
+    }
+
+    private static void writeRecord(ByteBuffer out, Renderable renderable, Map<Renderable, Integer> indices,
+                                    Map<Sprite, Integer> spriteIndices) {
+        out.put(typeOf(renderable));
+        out.putDouble(renderable.getPosition().getX());
+        out.putDouble(renderable.getPosition().getY());
+        if (renderable instanceof Player) {
+            out.putDouble(renderable.getHealth());
+        } else if (renderable instanceof Bunker) {
+            Bunker bunker = (Bunker) renderable;
+            out.putInt(bunker.getLives());
+            out.putDouble(bunker.getWidth());
+            out.putDouble(bunker.getHeight());
+            out.putShort(spriteIndexOf(bunker.getSprite(), spriteIndices));
+            out.put((byte) bunker.getState().getLevel());
+        } else if (renderable instanceof Enemy) {
+            Enemy enemy = (Enemy) renderable;
+            out.putInt((int) enemy.getHealth());
+            out.putInt(enemy.getxVel());
+            out.put(strategyOf(enemy.getProjectileStrategy()));
+            out.putShort(spriteIndexOf(enemy.getSprite(), spriteIndices));
+            out.putShort(spriteIndexOf(enemy.getProjectileSprite(), spriteIndices));
+            List<Projectile> owned = enemy.getEnemyProjectiles();
+            int ownedCount = 0;
+            for (Projectile projectile : owned) {
+                if (indices.containsKey(projectile)) {
+                    ownedCount++;
+                }
+            }
+            out.putInt(ownedCount);
+            for (Projectile projectile : owned) {
+                Integer index = indices.get(projectile);
+                if (index != null) {
+                    out.putInt(index);
+                }
+            }
+        } else if (renderable instanceof EnemyProjectile) {
+            EnemyProjectile projectile = (EnemyProjectile) renderable;
+            out.putInt((int) projectile.getHealth());
+            out.put(strategyOf(projectile.getStrategy()));
+            out.putShort(spriteIndexOf(projectile.getSprite(), spriteIndices));
+        } else {
+            out.putInt((int) renderable.getHealth());
+        }
+    }
+
+    // upper bound of the bytes writeRecord needs for a renderable
+    private static int recordSize(Renderable renderable) {
+        int size = 1 + 2 * 8;
+        if (renderable instanceof Enemy) {
+            size += 4 + 4 + 1 + 2 + 2 + 4 + 4 * ((Enemy) renderable).getEnemyProjectiles().size();
+        } else if (renderable instanceof Bunker) {
+            size += 4 + 2 * 8 + 2 + 1;
+        } else {
+            size += 8;
+        }
+        return size;
+    }
+
+    // bytes the sprite adds to the sprite table, zero if it's already there
+    private static int spriteSize(Sprite sprite, List<Sprite> sprites, Map<Sprite, Integer> spriteIndices) {
+        if (sprite == null || spriteIndices.containsKey(sprite)) {
+            return 0;
+        }
+        spriteIndices.put(sprite, sprites.size());
+        sprites.add(sprite);
+        return 2 + sprite.getPath().getBytes(StandardCharsets.UTF_8).length + 2 * 8;
+    }
+
+    private static short spriteIndexOf(Sprite sprite, Map<Sprite, Integer> spriteIndices) {
+        return sprite == null ? -1 : spriteIndices.get(sprite).shortValue();
+    }
+
+    /**
+     * @return the length read from the file, if that many elements of the given size can still follow
+     * @throws IOException if the length is negative or runs past the end of the file
+     */
+    private static int checkLength(ByteBuffer in, int length, int elementBytes) throws IOException {
+        if (length < 0 || (long) length * elementBytes > in.remaining()) {
+            throw new IOException("Save file is corrupt: length " + length + " with " + in.remaining() + " bytes left");
+        }
+        return length;
+    }
+
+    private static Sprite spriteAt(Sprite[] sprites, short index) {
+        return index < 0 ? null : sprites[index];
+    }
+
+    private static byte typeOf(Renderable renderable) {
+        if (renderable instanceof Player) {
+            return PLAYER;
+        } else if (renderable instanceof Bunker) {
+            return BUNKER;
+        } else if (renderable instanceof Enemy) {
+            return ENEMY;
+        } else if (renderable instanceof EnemyProjectile) {
+            return ENEMY_PROJECTILE;
+        } else if (renderable instanceof PlayerProjectile) {
+            return PLAYER_PROJECTILE;
+        }
+        throw new IllegalArgumentException("Can't save a " + renderable.getRenderableObjectName());
+    }
+
+    private static byte strategyOf(ProjectileStrategy strategy) {
+        if (strategy instanceof FastProjectileStrategy) {
+            return FAST;
+        } else if (strategy instanceof SlowProjectileStrategy) {
+            return SLOW;
+        } else if (strategy instanceof NormalProjectileStrategy) {
+            return NORMAL;
+        }
+        return NO_STRATEGY;
+    }
+}
@@ -0,0 +1,76 @@
+package invaders.metrics;
+
+/**
+ * Collects how long each phase of the tick and the frame takes, in one histogram per phase.
+ * Timings are gathered over windows of one second. When a window closes, its histograms become the ones
+ * reported by {@link #getLastWindow(Phase)}, and a JFR PhaseStatsEvent is committed per phase if JFR is recording.
+ */
+public class FrameProfiler {
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final TimingHistogram[] current = new TimingHistogram[PHASES.length];
+    private final TimingHistogram[] last = new TimingHistogram[PHASES.length];
+    private long windowStart = -1;
+    private int lastEntityCount;
+
+    public FrameProfiler() {
+        for (int i = 0; i < PHASES.length; i++) {
+            current[i] = new TimingHistogram();
+            last[i] = new TimingHistogram();
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        current[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Closes the window if it has run its course
+     * @param now the current time in nanoseconds
+     * @param entityCount renderables in the engine right now
+     */
+    public void endTick(long now, int entityCount) {
+        if (windowStart < 0) {
+            windowStart = now;
+        }
+        if (now - windowStart < WINDOW_NANOS) {
+            return;
+        }
+        windowStart = now;
+        lastEntityCount = entityCount;
+        for (int i = 0; i < PHASES.length; i++) {
+            last[i].copyFrom(current[i]);
+            current[i].reset();
+            commitEvent(PHASES[i], last[i], entityCount);
+        }
+    }
+
+    /**
+     * @return the timings of the last complete window
+     */
+    public TimingHistogram getLastWindow(Phase phase) {
+        return last[phase.ordinal()];
+    }
+
+    /**
+     * @return renderables in the engine when the last window closed
+     */
+    public int getLastEntityCount() {
+        return lastEntityCount;
+    }
+
+    private static void commitEvent(Phase phase, TimingHistogram histogram, int entityCount) {
+        PhaseStatsEvent event = new PhaseStatsEvent();
+        if (!event.isEnabled() || histogram.getCount() == 0) {
+            return;
+        }
+        event.phase = phase.getLabel();
+        event.samples = histogram.getCount();
+        event.p50 = histogram.getValueAtPercentile(50);
+        event.p99 = histogram.getValueAtPercentile(99);
+        event.max = histogram.getMax();
+        event.entityCount = entityCount;
+        event.commit();
+    }
+}
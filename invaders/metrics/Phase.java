@@ -0,0 +1,24 @@
+package invaders.metrics;
+
+/**
+ * The parts of a tick (the first five) and of a frame (the last two) that are timed separately
+ */
+public enum Phase {
+    INPUT("input"),
+    UPDATE("update"),
+    COLLISION("collision"),
+    CLAMP("clamp"),
+    FLUSH("flush"),
+    VIEW_SYNC("view sync"),
+    RENDER("render");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,41 @@
+package invaders.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event with the timings of one phase over one profiler window, committed when the window closes
+ */
+@Name("invaders.PhaseStats")
+@Label("Phase Timing")
+@Category({"Invaders", "Frame Timing"})
+@Description("Percentiles of the time spent in one tick or frame phase over the last window")
+@StackTrace(false)
+class PhaseStatsEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Samples")
+    long samples;
+
+    @Label("p50")
+    @Timespan(Timespan.NANOSECONDS)
+    long p50;
+
+    @Label("p99")
+    @Timespan(Timespan.NANOSECONDS)
+    long p99;
+
+    @Label("Max")
+    @Timespan(Timespan.NANOSECONDS)
+    long max;
+
+    @Label("Entities")
+    @Description("Renderables in the engine when the window closed")
+    int entityCount;
+}
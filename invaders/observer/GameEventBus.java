@@ -0,0 +1,163 @@
+package invaders.observer;
+
+import java.util.Arrays;
+
+/**
+ * Queues the events of one game during a tick and hands them to the listeners in one batch when the tick ends.
+ * Events are stored as primitives in a ring buffer, so publishing and dispatching allocate nothing once the buffer
+ * is big enough for the busiest tick. The buffer grows instead of dropping events, since points must not get lost.
+ * Every GameEngine owns its own bus.
+ */
+public class GameEventBus {
+    private static final int SCORE = 0;
+    private static final int ENTITY_DESTROYED = 1;
+    private static final int BUNKER_STATE_CHANGED = 2;
+    private static final int COLLISION = 3;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // event i is type[i & mask] with its arguments in the same slot of the other arrays
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] firstInts = new int[INITIAL_CAPACITY];
+    private int[] secondInts = new int[INITIAL_CAPACITY];
+    private double[] firstDoubles = new double[INITIAL_CAPACITY];
+    private double[] secondDoubles = new double[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private long head; // next event to dispatch
+    private long tail; // next free slot
+
+    // replaced, not modified, when listeners change, so a listener can remove itself while events are dispatched
+    private GameEventListener[] listeners = new GameEventListener[0];
+
+    public void addListener(GameEventListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * @return false if the listener was not registered
+     */
+    public boolean removeListener(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEventListener[] remaining = new GameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, listeners.length - i - 1);
+                listeners = remaining;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void publishScore(int points) {
+        int slot = claim(SCORE);
+        firstInts[slot] = points;
+    }
+
+    public void publishEntityDestroyed(int category, double x, double y) {
+        int slot = claim(ENTITY_DESTROYED);
+        firstInts[slot] = category;
+        firstDoubles[slot] = x;
+        secondDoubles[slot] = y;
+    }
+
+    public void publishBunkerStateChanged(int fromLevel, int toLevel) {
+        int slot = claim(BUNKER_STATE_CHANGED);
+        firstInts[slot] = fromLevel;
+        secondInts[slot] = toLevel;
+    }
+
+    public void publishCollision(int categoryA, int categoryB) {
+        int slot = claim(COLLISION);
+        firstInts[slot] = categoryA;
+        secondInts[slot] = categoryB;
+    }
+
+    /**
+     * Hands every queued event to the listeners. Events published by a listener meanwhile are dispatched too.
+     */
+    public void dispatch() {
+        while (head != tail) {
+            // read the event out first: a listener that publishes may reuse this slot or grow the buffer
+            int slot = (int) (head++ & mask);
+            int type = types[slot];
+            int firstInt = firstInts[slot];
+            int secondInt = secondInts[slot];
+            double firstDouble = firstDoubles[slot];
+            double secondDouble = secondDoubles[slot];
+            GameEventListener[] current = listeners;
+            switch (type) {
+                case SCORE:
+                    for (GameEventListener listener : current) {
+                        listener.onScore(firstInt);
+                    }
+                    break;
+                case ENTITY_DESTROYED:
+                    for (GameEventListener listener : current) {
+                        listener.onEntityDestroyed(firstInt, firstDouble, secondDouble);
+                    }
+                    break;
+                case BUNKER_STATE_CHANGED:
+                    for (GameEventListener listener : current) {
+                        listener.onBunkerStateChanged(firstInt, secondInt);
+                    }
+                    break;
+                case COLLISION:
+                    for (GameEventListener listener : current) {
+                        listener.onCollision(firstInt, secondInt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return the number of events waiting for the next dispatch
+     */
+    public int getPendingCount() {
+        return (int) (tail - head);
+    }
+
+    public int getCapacity() {
+        return types.length;
+    }
+
+    private int claim(int type) {
+        if (tail - head == types.length) {
+            grow();
+        }
+        int slot = (int) (tail++ & mask);
+        types[slot] = (byte) type;
+        return slot;
+    }
+
+    // doubles the buffer, unrolling the queued events to the start of the new arrays
+    private void grow() {
+        int capacity = types.length * 2;
+        int count = (int) (tail - head);
+        byte[] newTypes = new byte[capacity];
+        int[] newFirstInts = new int[capacity];
+        int[] newSecondInts = new int[capacity];
+        double[] newFirstDoubles = new double[capacity];
+        double[] newSecondDoubles = new double[capacity];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((head + i) & mask);
+            newTypes[i] = types[slot];
+            newFirstInts[i] = firstInts[slot];
+            newSecondInts[i] = secondInts[slot];
+            newFirstDoubles[i] = firstDoubles[slot];
+            newSecondDoubles[i] = secondDoubles[slot];
+        }
+        types = newTypes;
+        firstInts = newFirstInts;
+        secondInts = newSecondInts;
+        firstDoubles = newFirstDoubles;
+        secondDoubles = newSecondDoubles;
+        mask = capacity - 1;
+        head = 0;
+        tail = count;
+    }
+}
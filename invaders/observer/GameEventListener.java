@@ -0,0 +1,25 @@
+package invaders.observer;
+
+/**
+ * Receives the events of one game from its {@link GameEventBus}, in the order they happened, at the end of each tick.
+ * Every method has an empty default, so a listener only overrides the events it cares about.
+ * Categories are the ones in {@link invaders.physics.CollisionFilter}.
+ */
+public interface GameEventListener {
+
+    default void onScore(int points) {}
+
+    /**
+     * @param x where the entity was when it died
+     * @param y where the entity was when it died
+     */
+    default void onEntityDestroyed(int category, double x, double y) {}
+
+    /**
+     * @param fromLevel the damage level of the bunker before, see {@link invaders.state.BunkerState#getLevel()}
+     * @param toLevel the damage level after
+     */
+    default void onBunkerStateChanged(int fromLevel, int toLevel) {}
+
+    default void onCollision(int categoryA, int categoryB) {}
+}
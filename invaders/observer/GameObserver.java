@@ -1,13 +1,19 @@
 package invaders.observer;
 
 import invaders.rendering.Renderable;
-import javafx.util.Duration;
 
 import java.util.List;
 
 public interface GameObserver {
-    void updateTime(Duration time);
+    /**
+     * @param seconds simulation time since the game started
+     */
+    void updateTime(double seconds);
     void updateScore(int score);
 
+    /**
+     * Called when renderables leave the engine: dead ones at the end of the tick they died in,
+     * and live ones when a save or undo replaces them. The list is only valid during the call.
+     */
     void onRenderablesRemoved(List<Renderable> removedRenderables);
 }
\ No newline at end of file
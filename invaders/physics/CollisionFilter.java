@@ -0,0 +1,67 @@
+package invaders.physics;
+
+/**
+ * Integer collision categories and the pair table used by the collision pass.
+ * Each category has a mask of the categories it may hit. The pair table is built once
+ * from those masks, so deciding whether two objects collide (and whether the hit scores)
+ * is one array lookup and one bitwise test.
+ */
+public final class CollisionFilter {
+    public static final int PLAYER = 0;
+    public static final int BUNKER = 1;
+    public static final int ENEMY = 2;
+    public static final int PLAYER_PROJECTILE = 3;
+    public static final int ENEMY_PROJECTILE = 4;
+    public static final int BACKGROUND = 5;
+    public static final int CATEGORY_COUNT = 6;
+
+    // response flags stored in the pair table
+    public static final int COLLIDE = 1;
+    public static final int SCORE = 1 << 1;
+
+    private static final int ALL = (1 << CATEGORY_COUNT) - 1;
+
+    private static final int[] MASKS = new int[CATEGORY_COUNT];
+    private static final int[] RESPONSES = new int[CATEGORY_COUNT * CATEGORY_COUNT];
+
+    static {
+        // the player's shots start touching the player, which the swept test would count as a hit
+        MASKS[PLAYER] = ALL & ~(bit(PLAYER_PROJECTILE) | bit(BACKGROUND));
+        MASKS[BUNKER] = ALL & ~bit(BACKGROUND);
+        // enemies never hit each other or their own projectiles
+        MASKS[ENEMY] = ALL & ~(bit(ENEMY) | bit(ENEMY_PROJECTILE) | bit(BACKGROUND));
+        MASKS[PLAYER_PROJECTILE] = ALL & ~(bit(PLAYER) | bit(BACKGROUND));
+        MASKS[ENEMY_PROJECTILE] = ALL & ~(bit(ENEMY) | bit(ENEMY_PROJECTILE) | bit(BACKGROUND));
+        MASKS[BACKGROUND] = 0;
+
+        for (int a = 0; a < CATEGORY_COUNT; a++) {
+            for (int b = 0; b < CATEGORY_COUNT; b++) {
+                int response = 0;
+                if ((MASKS[a] & bit(b)) != 0 && (MASKS[b] & bit(a)) != 0) {
+                    response |= COLLIDE;
+                }
+                RESPONSES[a * CATEGORY_COUNT + b] = response;
+            }
+        }
+        // shooting down an enemy projectile gains points
+        RESPONSES[PLAYER_PROJECTILE * CATEGORY_COUNT + ENEMY_PROJECTILE] |= SCORE;
+        RESPONSES[ENEMY_PROJECTILE * CATEGORY_COUNT + PLAYER_PROJECTILE] |= SCORE;
+    }
+
+    private CollisionFilter() {}
+
+    public static int bit(int category) {
+        return 1 << category;
+    }
+
+    public static int getMask(int category) {
+        return MASKS[category];
+    }
+
+    /**
+     * @return the response flags ({@link #COLLIDE}, {@link #SCORE}) for a pair of categories
+     */
+    public static int getResponse(int categoryA, int categoryB) {
+        return RESPONSES[categoryA * CATEGORY_COUNT + categoryB];
+    }
+}
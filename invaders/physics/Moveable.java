@@ -1,13 +1,13 @@
 package invaders.physics;
 
-// represents something that can move up, down, left, right
+// represents something that can move up, down, left, right; each call moves as far as it gets in the given simulation time
 public interface Moveable {
 
-	public void up();
+	public void up(double seconds);
 
-	public void down();
+	public void down(double seconds);
 
-	public void left();
+	public void left(double seconds);
 
-	public void right();
+	public void right(double seconds);
 }
@@ -0,0 +1,161 @@
+package invaders.physics;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid broad phase for the collision pass.
+ * Every box is inserted into each cell its bounds touch, so two boxes that overlap
+ * (edges included) always share at least one cell. Boxes outside the world are
+ * clamped into the border cells, which keeps that guarantee.
+ * The grid is rebuilt every tick and reuses its arrays between ticks.
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    // cell range covered by each inserted id, -1 in minColumn means "not inserted"
+    private int[] minColumn = new int[0];
+    private int[] maxColumn = new int[0];
+    private int[] minRow = new int[0];
+    private int[] maxRow = new int[0];
+    private int count;
+
+    // cell contents in compressed form: ids of cell c are cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private int[] cellItems = new int[0];
+
+    // per query scratch space
+    private int[] visited = new int[0];
+    private int queryStamp;
+    private int[] candidates = new int[16];
+
+    public SpatialGrid(double width, double height, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive!");
+        }
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+    }
+
+    /**
+     * Starts a new build for ids in the range [0, capacity)
+     */
+    public void begin(int capacity) {
+        if (minColumn.length < capacity) {
+            int size = Math.max(capacity, minColumn.length * 2);
+            minColumn = new int[size];
+            maxColumn = new int[size];
+            minRow = new int[size];
+            maxRow = new int[size];
+            visited = new int[size];
+            queryStamp = 0;
+        }
+        Arrays.fill(minColumn, 0, capacity, -1);
+        count = capacity;
+    }
+
+    public void insert(int id, double x, double y, double width, double height) {
+        minColumn[id] = column(x);
+        maxColumn[id] = column(x + width);
+        minRow[id] = row(y);
+        maxRow[id] = row(y + height);
+    }
+
+    /**
+     * Sorts the inserted ids into their cells, must be called after the last insert
+     */
+    public void build() {
+        Arrays.fill(cellStart, 0);
+        int entries = 0;
+        for (int id = 0; id < count; id++) {
+            if (minColumn[id] < 0) {
+                continue;
+            }
+            for (int r = minRow[id]; r <= maxRow[id]; r++) {
+                for (int c = minColumn[id]; c <= maxColumn[id]; c++) {
+                    cellStart[r * columns + c + 1]++;
+                    entries++;
+                }
+            }
+        }
+        for (int cell = 1; cell < cellStart.length; cell++) {
+            cellStart[cell] += cellStart[cell - 1];
+        }
+        if (cellItems.length < entries) {
+            cellItems = new int[Math.max(entries, cellItems.length * 2)];
+        }
+
+        // ids are visited in ascending order, so every cell ends up sorted
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+        for (int id = 0; id < count; id++) {
+            if (minColumn[id] < 0) {
+                continue;
+            }
+            for (int r = minRow[id]; r <= maxRow[id]; r++) {
+                for (int c = minColumn[id]; c <= maxColumn[id]; c++) {
+                    cellItems[fill[r * columns + c]++] = id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects every id greater than the given one that shares a cell with it.
+     * The result is in ascending order so callers can keep the same pair order as a nested i/j loop.
+     * @return the number of candidates written to {@link #getCandidates()}
+     */
+    public int queryCandidatesAfter(int id) {
+        if (minColumn[id] < 0) {
+            return 0;
+        }
+        if (++queryStamp == 0) {
+            Arrays.fill(visited, 0);
+            queryStamp = 1;
+        }
+        int found = 0;
+        for (int r = minRow[id]; r <= maxRow[id]; r++) {
+            for (int c = minColumn[id]; c <= maxColumn[id]; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int other = cellItems[k];
+                    if (other <= id || visited[other] == queryStamp) {
+                        continue;
+                    }
+                    visited[other] = queryStamp;
+                    if (found == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, found * 2);
+                    }
+                    candidates[found++] = other;
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, found);
+        return found;
+    }
+
+    public int[] getCandidates() {
+        return candidates;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int column(double x) {
+        return clamp((int) Math.floor(x / cellSize), columns);
+    }
+
+    private int row(double y) {
+        return clamp((int) Math.floor(y / cellSize), rows);
+    }
+
+    private static int clamp(int cell, int cells) {
+        if (cell < 0) {
+            return 0;
+        }
+        return Math.min(cell, cells - 1);
+    }
+}
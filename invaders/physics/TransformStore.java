@@ -0,0 +1,206 @@
+package invaders.physics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Positions and sizes of every object in the engine, kept in parallel primitive arrays.
+ * Slot i always belongs to the i-th renderable of the engine, so loops over the arrays see objects
+ * in list order. Each object's Vector2D is bound to its slot and reads and writes straight through to it,
+ * so code using getPosition() keeps working unchanged.
+ */
+public class TransformStore {
+    double[] x = new double[0];
+    double[] y = new double[0];
+    // where each object was when the tick started, for the swept collision test and render interpolation
+    private double[] previousX = new double[0];
+    private double[] previousY = new double[0];
+    private double[] w = new double[0];
+    private double[] h = new double[0];
+    private boolean[] clamped = new boolean[0];
+    private Vector2D[] owners = new Vector2D[0];
+    private int size;
+
+    /**
+     * What the store needs to know about each object
+     */
+    public interface Entry {
+        public Vector2D getPosition();
+        public double getWidth();
+        public double getHeight();
+        /**
+         * Whether the object has to be kept inside the game area
+         */
+        public boolean isKeptOnScreen();
+    }
+
+    /**
+     * Rebinds the store to the given objects, slot i for entry i.
+     * Objects that are no longer in the list get their own copy of their last position back.
+     */
+    public void rebuild(List<? extends Entry> entries) {
+        for (int i = 0; i < size; i++) {
+            if (owners[i] != null) {
+                owners[i].unbind();
+                owners[i] = null;
+            }
+        }
+        size = 0;
+        ensureCapacity(entries.size());
+        for (Entry entry : entries) {
+            add(entry);
+        }
+    }
+
+    /**
+     * Appends a slot for the object
+     */
+    public void add(Entry entry) {
+        ensureCapacity(size + 1);
+        Vector2D position = entry.getPosition();
+        x[size] = position.getX();
+        y[size] = position.getY();
+        previousX[size] = x[size];
+        previousY[size] = y[size];
+        w[size] = entry.getWidth();
+        h[size] = entry.getHeight();
+        clamped[size] = entry.isKeptOnScreen();
+        // a vector can only be bound to one slot; an object listed twice gets a copy in its second slot
+        if (!position.isBound()) {
+            owners[size] = position;
+            position.bind(this, size);
+        }
+        size++;
+    }
+
+    /**
+     * Drops a slot by moving the last slot into it, the same way the engine's entity registry removes an object
+     */
+    public void swapRemove(int index) {
+        if (owners[index] != null) {
+            owners[index].unbind();
+        }
+        int last = size - 1;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            previousX[index] = previousX[last];
+            previousY[index] = previousY[last];
+            w[index] = w[last];
+            h[index] = h[last];
+            clamped[index] = clamped[last];
+            owners[index] = owners[last];
+            if (owners[index] != null) {
+                owners[index].bind(this, index);
+            }
+        }
+        owners[last] = null;
+        size--;
+    }
+
+    /**
+     * Remembers the current positions as the start of a tick. Objects added during the tick start where they are added.
+     */
+    public void beginStep() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    /**
+     * Moves every clamped object back inside [0, width] x [0, height], leaving an offset to the edge
+     */
+    public void clampTo(int width, int height, double offset) {
+        for (int i = 0; i < size; i++) {
+            if (!clamped[i]) {
+                continue;
+            }
+            if (x[i] + w[i] >= width) {
+                x[i] = (width - offset) - w[i];
+            }
+            if (x[i] <= 0) {
+                x[i] = offset;
+            }
+            if (y[i] + h[i] >= height) {
+                y[i] = (height - offset) - h[i];
+            }
+            if (y[i] <= 0) {
+                y[i] = offset;
+            }
+        }
+    }
+
+    /**
+     * When two objects first touched during this tick, following each one's path since beginStep
+     * @return the fraction of the tick in [0, 1], or SweptAabb.NO_HIT
+     */
+    public double timeOfImpact(int a, int b) {
+        return SweptAabb.timeOfImpact(previousX[a], previousY[a], x[a] - previousX[a], y[a] - previousY[a], w[a], h[a],
+                previousX[b], previousY[b], x[b] - previousX[b], y[b] - previousY[b], w[b], h[b]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Left edge of everything the object covered during this tick
+     */
+    public double getSweptX(int index) {
+        return Math.min(x[index], previousX[index]);
+    }
+
+    public double getSweptY(int index) {
+        return Math.min(y[index], previousY[index]);
+    }
+
+    public double getSweptWidth(int index) {
+        return w[index] + Math.abs(x[index] - previousX[index]);
+    }
+
+    public double getSweptHeight(int index) {
+        return h[index] + Math.abs(y[index] - previousY[index]);
+    }
+
+    /**
+     * Where the object was the given fraction of the way through the last tick
+     * @param alpha 0 for where it was when the tick started, 1 for where it is now
+     */
+    public double getInterpolatedX(int index, double alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    public double getInterpolatedY(int index, double alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public double getWidth(int index) {
+        return w[index];
+    }
+
+    public double getHeight(int index) {
+        return h[index];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (x.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, x.length * 2);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        previousX = Arrays.copyOf(previousX, newCapacity);
+        previousY = Arrays.copyOf(previousY, newCapacity);
+        w = Arrays.copyOf(w, newCapacity);
+        h = Arrays.copyOf(h, newCapacity);
+        clamped = Arrays.copyOf(clamped, newCapacity);
+        owners = Arrays.copyOf(owners, newCapacity);
+    }
+}
@@ -1,36 +1,65 @@
 package invaders.physics;
 
 /**
- * A utility class for storing position information
+ * A utility class for storing position information.
+ * While its object is part of an engine, the vector is bound to a slot in the engine's TransformStore
+ * and reads and writes that slot instead of its own fields.
  */
 public class Vector2D {
 
 	private double x;
 	private double y;
 
+	private TransformStore store;
+	private int index;
+
 	public Vector2D(double x, double y){
 		this.x = x;
 		this.y = y;
 	}
 
 	public Vector2D(Vector2D other) {
-		this.x = other.x;
-		this.y = other.y;
+		this.x = other.getX();
+		this.y = other.getY();
 	}
 
 	public double getX(){
-		return this.x;
+		return store == null ? this.x : store.x[index];
 	}
 
 	public double getY(){
-		return this.y;
+		return store == null ? this.y : store.y[index];
 	}
 
 	public void setX(double x){
-		this.x = x;
+		if (store == null) {
+			this.x = x;
+		} else {
+			store.x[index] = x;
+		}
 	}
 
 	public void setY(double y){
-		this.y = y;
+		if (store == null) {
+			this.y = y;
+		} else {
+			store.y[index] = y;
+		}
+	}
+
+	void bind(TransformStore store, int index) {
+		this.store = store;
+		this.index = index;
+	}
+
+	// keeps the last stored value when the object leaves the engine
+	void unbind() {
+		this.x = store.x[index];
+		this.y = store.y[index];
+		this.store = null;
+	}
+
+	boolean isBound() {
+		return store != null;
 	}
 }
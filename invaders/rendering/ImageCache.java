@@ -0,0 +1,158 @@
+package invaders.rendering;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes every sprite once and hands out the same JavaFX image afterwards (Singleton).
+ * Images are keyed by path and requested size, so the same file at two sizes is two entries.
+ * The loaded images can also be packed into one atlas texture for renderers that draw from a single image.
+ */
+public class ImageCache {
+    private static ImageCache instance;
+
+    private final Map<Sprite, Image> images = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long bytesHeld;
+    private Atlas atlas;
+
+    private ImageCache() {}
+
+    public static ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache();
+        }
+        return instance;
+    }
+
+    public Image get(Sprite sprite) {
+        Image image = images.get(sprite);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+        misses++;
+        image = new Image(new File(sprite.getPath()).toURI().toString(), sprite.getWidth(), sprite.getHeight(), true, true);
+        images.put(sprite, image);
+        bytesHeld += estimateBytes(image);
+        return image;
+    }
+
+    /**
+     * Packs every image loaded so far into one texture, tallest first on shelves of at most maxWidth pixels.
+     * Sprites loaded later are not in the atlas, callers should fall back to {@link #get(Sprite)} for them.
+     */
+    public Atlas packAtlas(int maxWidth) {
+        List<Map.Entry<Sprite, Image>> entries = new ArrayList<>(images.entrySet());
+        entries.sort(Comparator.comparingDouble((Map.Entry<Sprite, Image> e) -> e.getValue().getHeight()).reversed());
+
+        Map<Sprite, Rectangle2D> regions = new HashMap<>();
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        int atlasWidth = 1;
+        for (Map.Entry<Sprite, Image> entry : entries) {
+            int w = (int) Math.ceil(entry.getValue().getWidth());
+            int h = (int) Math.ceil(entry.getValue().getHeight());
+            if (x > 0 && x + w > maxWidth) {
+                y += shelfHeight;
+                x = 0;
+                shelfHeight = 0;
+            }
+            regions.put(entry.getKey(), new Rectangle2D(x, y, w, h));
+            x += w;
+            shelfHeight = Math.max(shelfHeight, h);
+            atlasWidth = Math.max(atlasWidth, x);
+        }
+
+        WritableImage texture = new WritableImage(atlasWidth, Math.max(1, y + shelfHeight));
+        PixelWriter writer = texture.getPixelWriter();
+        for (Map.Entry<Sprite, Image> entry : entries) {
+            Rectangle2D region = regions.get(entry.getKey());
+            Image image = entry.getValue();
+            if (region.getWidth() > 0 && region.getHeight() > 0 && image.getPixelReader() != null) {
+                writer.setPixels((int) region.getMinX(), (int) region.getMinY(),
+                        (int) image.getWidth(), (int) image.getHeight(), image.getPixelReader(), 0, 0);
+            }
+        }
+
+        if (atlas != null) {
+            bytesHeld -= estimateBytes(atlas.getImage());
+        }
+        atlas = new Atlas(texture, regions);
+        bytesHeld += estimateBytes(texture);
+        return atlas;
+    }
+
+    /**
+     * @return the last packed atlas, or null if none was packed
+     */
+    public Atlas getAtlas() {
+        return atlas;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Approximate decoded size of everything held, at 4 bytes per pixel
+     */
+    public long getBytesHeld() {
+        return bytesHeld;
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public void clear() {
+        images.clear();
+        atlas = null;
+        hits = 0;
+        misses = 0;
+        bytesHeld = 0;
+    }
+
+    private static long estimateBytes(Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+    }
+
+    /**
+     * One texture holding several sprites, and where each sprite sits in it
+     */
+    public static class Atlas {
+        private final Image image;
+        private final Map<Sprite, Rectangle2D> regions;
+
+        private Atlas(Image image, Map<Sprite, Rectangle2D> regions) {
+            this.image = image;
+            this.regions = regions;
+        }
+
+        public Image getImage() {
+            return image;
+        }
+
+        /**
+         * @return the sprite's area in the atlas, or null if it was loaded after packing
+         */
+        public Rectangle2D getRegion(Sprite sprite) {
+            return regions.get(sprite);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package invaders.rendering;
 
 import invaders.physics.Collider;
+import invaders.physics.CollisionFilter;
+import invaders.physics.TransformStore;
 import invaders.physics.Vector2D;
-import javafx.scene.image.Image;
 
 /**
  * Represents something that can be rendered
  */
-public interface Renderable {
+public interface Renderable extends TransformStore.Entry {
 
-    public Image getImage();
+    /**
+     * The sprite to draw, the view layer is responsible for loading it
+     */
+    public Sprite getSprite();
 
     public double getWidth();
     public double getHeight();
@@ -18,6 +22,14 @@ public interface Renderable {
 
     public Renderable.Layer getLayer();
 
+    /**
+     * Foreground objects are kept inside the game area by the engine
+     */
+    @Override
+    public default boolean isKeptOnScreen() {
+        return getLayer() == Layer.FOREGROUND;
+    }
+
     public boolean isAlive();
     public void takeDamage(double amount);
 
@@ -52,5 +64,20 @@ public interface Renderable {
         return true; // Overlap in both x-axis and y-axis
     }
 
+    /**
+     * Name of the object, only used for debugging
+     */
     public String getRenderableObjectName();
+
+    /**
+     * The collision category of this object, one of the constants in {@link CollisionFilter}
+     */
+    public int getCollisionCategory();
+
+    /**
+     * Bits of the categories this object can collide with
+     */
+    public default int getCollisionMask() {
+        return CollisionFilter.getMask(getCollisionCategory());
+    }
 }
@@ -0,0 +1,52 @@
+package invaders.rendering;
+
+import java.util.Objects;
+
+/**
+ * Describes the image of a renderable without loading it.
+ * The model only deals with the path and size; the view layer turns a sprite into a JavaFX image,
+ * so the simulation can run without the JavaFX toolkit.
+ * Two sprites with the same path and size are equal, which makes them usable as cache keys.
+ */
+public final class Sprite {
+    private final String path;
+    private final double width;
+    private final double height;
+    private final int hash;
+
+    public Sprite(String path, double width, double height) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+        this.hash = Objects.hash(path, width, height);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Sprite)) {
+            return false;
+        }
+        Sprite other = (Sprite) o;
+        return width == other.width && height == other.height && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
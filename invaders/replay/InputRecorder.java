@@ -0,0 +1,79 @@
+package invaders.replay;
+
+import invaders.engine.GameEngine;
+import invaders.engine.GameInput;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams the inputs of a session to a file, so it can be replayed by {@link InputReplay}.
+ * The header holds the difficulty, the engine's RNG seed and its tick rate; each input is then written as the number of ticks
+ * since the previous one (a varint, usually one byte) and the input ordinal. Finishing the recording appends
+ * an end record with the last tick and the final score, which the replay uses to check it ended up in the same place.
+ */
+public class InputRecorder implements Closeable {
+    static final int MAGIC = 0x494E5652; // "INVR"
+    static final byte VERSION = 2;
+    static final int END_OF_RECORDING = 0xFF;
+
+    private final DataOutputStream out;
+    private long previousTick;
+    private boolean finished;
+
+    public InputRecorder(Path path, String difficulty, long seed) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(difficulty);
+        out.writeLong(seed);
+        out.writeInt(GameEngine.TICKS_PER_SECOND);
+    }
+
+    /**
+     * Records an input applied after the given number of ticks
+     */
+    public void record(long tick, GameInput input) {
+        try {
+            writeTick(tick);
+            out.writeByte(input.ordinal());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the end record and closes the file
+     * @param tick the number of ticks the session ran for
+     */
+    public void finish(long tick, int score) throws IOException {
+        if (finished) {
+            return;
+        }
+        writeTick(tick);
+        out.writeByte(END_OF_RECORDING);
+        out.writeInt(score);
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        out.close();
+    }
+
+    private void writeTick(long tick) throws IOException {
+        long delta = tick - previousTick;
+        previousTick = tick;
+        while ((delta & ~0x7FL) != 0) {
+            out.writeByte((int) (delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        out.writeByte((int) delta);
+    }
+}
@@ -0,0 +1,134 @@
+package invaders.replay;
+
+import invaders.engine.GameInput;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a recording made by {@link InputRecorder} one input at a time.
+ * A recording that was cut off (e.g. the game crashed) simply ends after its last complete input.
+ */
+public class InputReplay implements Closeable {
+    private static final GameInput[] INPUTS = GameInput.values();
+
+    private final DataInputStream in;
+    private final String difficulty;
+    private final long seed;
+    private final int tickRate;
+
+    private long tick;
+    private GameInput input;
+    private boolean ended;
+    private boolean finished;
+    private int finalScore;
+
+    public InputReplay(Path path) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        if (in.readInt() != InputRecorder.MAGIC) {
+            in.close();
+            throw new IOException("Not an invaders recording: " + path);
+        }
+        byte version = in.readByte();
+        if (version < 1 || version > InputRecorder.VERSION) {
+            in.close();
+            throw new IOException("Unsupported recording version " + version);
+        }
+        this.difficulty = in.readUTF();
+        this.seed = in.readLong();
+        // version 1 recordings predate configurable tick rates
+        this.tickRate = version >= 2 ? in.readInt() : 120;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the ticks per second of the engine that made the recording
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Moves to the next input
+     * @return false once there are no inputs left
+     */
+    public boolean next() throws IOException {
+        if (ended) {
+            return false;
+        }
+        try {
+            long nextTick = tick + readTickDelta();
+            int ordinal = in.readUnsignedByte();
+            if (ordinal == InputRecorder.END_OF_RECORDING) {
+                finalScore = in.readInt();
+                tick = nextTick;
+                finished = true;
+                ended = true;
+                input = null;
+                return false;
+            }
+            if (ordinal >= INPUTS.length) {
+                throw new IOException("Unknown input " + ordinal + " in recording");
+            }
+            tick = nextTick;
+            input = INPUTS[ordinal];
+            return true;
+        } catch (EOFException e) {
+            ended = true;
+            input = null;
+            return false;
+        }
+    }
+
+    /**
+     * @return the number of ticks the engine had run when the current input was applied,
+     * or once a finished recording has ended, the number of ticks the session ran for
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public GameInput getInput() {
+        return input;
+    }
+
+    /**
+     * @return true if the recording has its end record, i.e. the session was closed normally
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private long readTickDelta() throws IOException {
+        long delta = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return delta;
+    }
+}
@@ -1,65 +1,57 @@
 package invaders.singleton;
 
 import invaders.ConfigReader;
-import org.json.simple.JSONObject;
-import org.json.simple.JSONArray;
+import invaders.config.GameConfig;
+import invaders.config.StressScenario;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DifficultyLevel {
     private static final String CONFIG_PATH_PREFIX = "src/main/resources/";
-    private static DifficultyLevel instance;
-    private JSONObject gameInfo;
-    private JSONObject playerInfo;
-    private JSONArray bunkersInfo;
-    private JSONArray enemiesInfo;
-    private String difficulty;
+    public static final String[] DIFFICULTIES = {"easy", "medium", "hard"};
+    // one instance per difficulty, shared by every engine, so engines on different threads don't swap it under each other
+    private static final Map<String, DifficultyLevel> instances = new ConcurrentHashMap<>();
+    private final GameConfig config;
+    private final String difficulty;
 
     // Private constructor to prevent instantiation
     private DifficultyLevel(String difficulty) {
         this.difficulty = difficulty; // Store the difficulty level
-        parseConfig(CONFIG_PATH_PREFIX + "config_" + difficulty + ".json");
+        String path = CONFIG_PATH_PREFIX + "config_" + difficulty + ".json";
+        // a stress scenario is generated, unless a config was written for it
+        StressScenario scenario = StressScenario.byName(difficulty);
+        this.config = scenario != null && !Files.exists(Paths.get(path)) ? scenario.generate() : ConfigReader.read(path);
     }
 
-    // Public method to get the instance of the class
+    // Public method to get the instance of the class; the config is parsed once per difficulty.
+    // The config is immutable, so it can be shared between threads.
     public static DifficultyLevel getInstance(String difficulty) {
-        if (instance == null || !instance.difficulty.equals(difficulty)) {
-            instance = new DifficultyLevel(difficulty);
-        }
-        return instance;
-    }
-
-    // Parse configuration file and store data
-    private void parseConfig(String configPath) {
-        JSONObject configData = ConfigReader.parse(configPath);
-        if (configData != null) {
-            this.gameInfo = (JSONObject) configData.get("Game");
-            this.playerInfo = (JSONObject) configData.get("Player");
-            this.bunkersInfo = (JSONArray) configData.get("Bunkers");
-            this.enemiesInfo = (JSONArray) configData.get("Enemies");
-        }
-    }
-
-    // Accessor methods for the configuration data
-    public JSONObject getGameInfo() {
-        return gameInfo;
+        return instances.computeIfAbsent(difficulty, DifficultyLevel::new);
     }
 
-    public JSONObject getPlayerInfo() {
-        return playerInfo;
+    /**
+     * Parses the configs of all difficulties in parallel, so picking one later costs no parsing
+     */
+    public static void loadAll() {
+        loadAll(DIFFICULTIES);
     }
 
-    public JSONArray getBunkersInfo() {
-        return bunkersInfo;
+    /**
+     * Loads the given difficulties or stress scenarios in parallel
+     */
+    public static void loadAll(String... difficulties) {
+        Arrays.stream(difficulties).parallel().forEach(DifficultyLevel::getInstance);
     }
 
-    public JSONArray getEnemiesInfo() {
-        return enemiesInfo;
+    public GameConfig getConfig() {
+        return config;
     }
 
-    // Method to retrieve the current difficulty level from the instance
     public String getDifficulty() {
-        if (this.gameInfo != null) {
-            return (String) this.gameInfo.get("difficulty");
-        }
-        return null;
+        return difficulty;
     }
 }
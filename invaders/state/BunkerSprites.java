@@ -0,0 +1,22 @@
+package invaders.state;
+
+import invaders.gameobject.Bunker;
+import invaders.rendering.Sprite;
+
+/**
+ * The sprites of damaged bunkers. Bunkers of the shipped size share one sprite per state;
+ * a bunker of another size gets a sprite of its own size, so the image is decoded at that size instead of stretched.
+ */
+final class BunkerSprites {
+    static final Sprite YELLOW = new Sprite("src/main/resources/bunkerYellow.png", 50, 30);
+    static final Sprite RED = new Sprite("src/main/resources/bunkerRed.png", 50, 30);
+
+    private BunkerSprites() {}
+
+    static Sprite forBunker(Sprite shared, Bunker bunker) {
+        if (shared.getWidth() == bunker.getWidth() && shared.getHeight() == bunker.getHeight()) {
+            return shared;
+        }
+        return new Sprite(shared.getPath(), bunker.getWidth(), bunker.getHeight());
+    }
+}
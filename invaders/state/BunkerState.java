@@ -1,4 +1,9 @@
 package invaders.state;
 public interface BunkerState {
     public void takeDamage();
+
+    /**
+     * @return how damaged the bunker is: 0 green, 1 yellow, 2 red
+     */
+    public int getLevel();
 }
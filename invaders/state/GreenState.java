@@ -1,8 +1,6 @@
 package invaders.state;
 
 import invaders.gameobject.Bunker;
-import javafx.scene.image.Image;
-import java.io.File;
 
 public class GreenState implements BunkerState {
     private Bunker bunker;
@@ -13,7 +11,12 @@ public class GreenState implements BunkerState {
 
     @Override
     public void takeDamage() {
-        bunker.setImage(new Image(new File("src/main/resources/bunkerYellow.png").toURI().toString()));
+        bunker.setSprite(BunkerSprites.forBunker(BunkerSprites.YELLOW, bunker));
         bunker.setState(new YellowState(bunker));
     }
+
+    @Override
+    public int getLevel() {
+        return 0;
+    }
 }
@@ -1,7 +1,5 @@
 package invaders.state;
 import invaders.gameobject.Bunker;
-import javafx.scene.image.Image;
-import java.io.File;
 
 public class RedState implements BunkerState {
     private Bunker bunker;
@@ -15,4 +13,9 @@ public class RedState implements BunkerState {
         // bunker.
 
     }
+
+    @Override
+    public int getLevel() {
+        return 2;
+    }
 }
@@ -1,7 +1,5 @@
 package invaders.state;
 import invaders.gameobject.Bunker;
-import javafx.scene.image.Image;
-import java.io.File;
 
 public class YellowState implements BunkerState {
     private Bunker bunker;
@@ -12,7 +10,12 @@ public class YellowState implements BunkerState {
 
     @Override
     public void takeDamage() {
-        bunker.setImage(new Image(new File("src/main/resources/bunkerRed.png").toURI().toString()));
+        bunker.setSprite(BunkerSprites.forBunker(BunkerSprites.RED, bunker));
         bunker.setState(new RedState(bunker));
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getLevel() {
+        return 1;
+    }
+}
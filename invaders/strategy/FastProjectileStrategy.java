@@ -3,10 +3,13 @@ package invaders.strategy;
 import invaders.factory.Projectile;
 
 public class FastProjectileStrategy implements ProjectileStrategy{
+    // pixels per second, downwards
+    private static final double SPEED = 360;
+
 
     @Override
-    public void update(Projectile p) {
-        double newYPos = p.getPosition().getY() + 3;
+    public void update(Projectile p, double seconds) {
+        double newYPos = p.getPosition().getY() + SPEED * seconds;
         p.getPosition().setY(newYPos);
     }
 }
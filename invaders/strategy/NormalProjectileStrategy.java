@@ -3,9 +3,12 @@ package invaders.strategy;
 import invaders.factory.Projectile;
 
 public class NormalProjectileStrategy implements ProjectileStrategy{
+    // pixels per second, upwards
+    private static final double SPEED = -240;
+
     @Override
-    public void update(Projectile p) {
-        double newYPos = p.getPosition().getY() - 2;
+    public void update(Projectile p, double seconds) {
+        double newYPos = p.getPosition().getY() + SPEED * seconds;
         p.getPosition().setY(newYPos);
     }
 }
@@ -4,5 +4,8 @@ import invaders.factory.Projectile;
 import invaders.physics.Vector2D;
 
 public interface ProjectileStrategy {
-   public void update(Projectile p);
+   /**
+    * Moves the projectile by how far it travels in the given simulation time
+    */
+   public void update(Projectile p, double seconds);
 }
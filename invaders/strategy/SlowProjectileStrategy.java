@@ -3,9 +3,12 @@ package invaders.strategy;
 import invaders.factory.Projectile;
 
 public class SlowProjectileStrategy implements ProjectileStrategy{
+    // pixels per second, downwards
+    private static final double SPEED = 120;
+
     @Override
-    public void update(Projectile p) {
-        double newYPos = p.getPosition().getY() + 1;
+    public void update(Projectile p, double seconds) {
+        double newYPos = p.getPosition().getY() + SPEED * seconds;
         p.getPosition().setY(newYPos);
     }
 }
@@ -0,0 +1,31 @@
+package invaders;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the engine benchmarks with the gc profiler and writes the results as JSON,
+ * so throughput and allocation rate can be compared between releases.
+ * Any JMH command line option can be passed on, e.g. "-p entityCount=1000" or a benchmark regex.
+ * Must be started from the project directory so the game configs under src/main/resources are found.
+ */
+public class BenchmarkApp {
+    private static final String RESULT_FILE = "build/reports/jmh/results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include("invaders\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+        new Runner(options).run();
+    }
+}
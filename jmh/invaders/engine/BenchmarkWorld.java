@@ -0,0 +1,71 @@
+package invaders.engine;
+
+import invaders.builder.EnemyBuilder;
+import invaders.factory.EnemyProjectileFactory;
+import invaders.factory.PlayerProjectileFactory;
+import invaders.factory.ProjectileFactory;
+import invaders.gameobject.Enemy;
+import invaders.observer.GameEventBus;
+import invaders.physics.Vector2D;
+import invaders.rendering.Renderable;
+import invaders.strategy.FastProjectileStrategy;
+import invaders.strategy.NormalProjectileStrategy;
+import invaders.strategy.SlowProjectileStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds engines filled with a seeded mix of entities, so every benchmark run sees the same world.
+ * Roughly 60% enemies in the upper half of the arena, 30% enemy projectiles and 10% player projectiles.
+ */
+final class BenchmarkWorld {
+    static final String DIFFICULTY = "easy";
+    private static final long SEED = 2201;
+
+    private BenchmarkWorld() {}
+
+    static GameEngine create(int entityCount) {
+        GameEngine engine = new GameEngine(DIFFICULTY, SEED);
+        engine.addAllRenderablesAndGameObjects(createEntities(engine.getEventBus(), engine.getGameWidth(), engine.getGameHeight(), entityCount));
+        return engine;
+    }
+
+    /**
+     * An engine running a stress scenario, see StressScenario
+     */
+    static GameEngine create(String scenario) {
+        return new GameEngine(scenario, SEED);
+    }
+
+    static List<Renderable> createEntities(GameEventBus eventBus, int width, int height, int count) {
+        Random random = new Random(SEED);
+        EnemyBuilder enemyBuilder = new EnemyBuilder();
+        ProjectileFactory enemyProjectiles = new EnemyProjectileFactory();
+        ProjectileFactory playerProjectiles = new PlayerProjectileFactory();
+
+        List<Renderable> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = 25 + random.nextDouble() * (width - 70);
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                enemyBuilder.reset();
+                enemyBuilder.buildPosition(new Vector2D(x, 20 + random.nextDouble() * (height / 2.0)));
+                enemyBuilder.buildLives(1);
+                enemyBuilder.buildImageAndStrategy(random.nextBoolean() ? "fast_straight" : "slow_straight");
+                Enemy enemy = (Enemy) enemyBuilder.createGameObject();
+                enemy.setEventBus(eventBus);
+                entities.add(enemy);
+            } else if (kind < 9) {
+                Vector2D position = new Vector2D(x, 20 + random.nextDouble() * (height - 60));
+                entities.add(enemyProjectiles.createProjectile(position,
+                        random.nextBoolean() ? new FastProjectileStrategy() : new SlowProjectileStrategy(), null));
+            } else {
+                Vector2D position = new Vector2D(x, 20 + random.nextDouble() * (height - 60));
+                entities.add(playerProjectiles.createProjectile(position, new NormalProjectileStrategy(), null));
+            }
+        }
+        return entities;
+    }
+}
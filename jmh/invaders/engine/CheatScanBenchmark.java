@@ -0,0 +1,61 @@
+package invaders.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cheat keys Q, W, E and R. Killed entities stay in the engine lists, so repeated calls scan and match the same set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheatScanBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entityCount;
+
+    private GameEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = BenchmarkWorld.create(entityCount);
+    }
+
+    @Benchmark
+    public GameEngine removeFastProjectiles() {
+        engine.cheatRemoveFastProjectiles();
+        return engine;
+    }
+
+    @Benchmark
+    public GameEngine removeSlowProjectiles() {
+        engine.cheatRemoveSlowProjectiles();
+        return engine;
+    }
+
+    @Benchmark
+    public GameEngine removeEnemiesWithFastProjectiles() {
+        engine.cheatRemoveEnemiesWithFastProjectiles();
+        return engine;
+    }
+
+    @Benchmark
+    public GameEngine removeEnemiesWithSlowProjectiles() {
+        engine.cheatRemoveEnemiesWithSlowProjectiles();
+        return engine;
+    }
+}
@@ -0,0 +1,64 @@
+package invaders.engine;
+
+import invaders.rendering.Renderable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The collision pass on its own, and the narrow-phase test it is built on.
+ * The first pass of an iteration resolves the overlaps in the fixture; after that the pass
+ * measures the usual in-game case of many candidate pairs and few new hits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entityCount;
+
+    private GameEngine engine;
+    private Renderable[] pairs;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = BenchmarkWorld.create(entityCount);
+        List<Renderable> renderables = engine.getRenderables();
+        pairs = renderables.toArray(new Renderable[0]);
+    }
+
+    @Benchmark
+    public GameEngine collisionPass() {
+        engine.resolveCollisions();
+        return engine;
+    }
+
+    /**
+     * Tests every renderable against its neighbour in the list, entityCount tests per call
+     */
+    @Benchmark
+    public int isColliding() {
+        int hits = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (pairs[i].isColliding(pairs[(i + 1) % pairs.length])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
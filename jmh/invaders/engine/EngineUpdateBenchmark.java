@@ -0,0 +1,43 @@
+package invaders.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full simulation tick. The world is rebuilt every iteration because ticks use it up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineUpdateBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entityCount;
+
+    private GameEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = BenchmarkWorld.create(entityCount);
+    }
+
+    @Benchmark
+    public GameEngine update() {
+        engine.update();
+        return engine;
+    }
+}
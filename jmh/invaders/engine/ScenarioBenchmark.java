@@ -0,0 +1,47 @@
+package invaders.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full simulation tick of a generated stress level, set up the way the game sets up a difficulty
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScenarioBenchmark {
+    @Param({"stress_1k", "stress_10k", "stress_25k", "fast_barrage", "bunker_wall"})
+    public String scenario;
+
+    @Param({"false", "true"})
+    public boolean parallelUpdate;
+
+    private GameEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = BenchmarkWorld.create(scenario);
+        engine.setParallelUpdate(parallelUpdate);
+    }
+
+    @Benchmark
+    public GameEngine update() {
+        engine.update();
+        return engine;
+    }
+}
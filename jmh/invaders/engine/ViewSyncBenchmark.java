@@ -0,0 +1,98 @@
+package invaders.engine;
+
+import invaders.entities.EntityView;
+import invaders.rendering.Renderable;
+import javafx.scene.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching renderables to their views in GameWindow.draw(). The views are stubs without
+ * JavaFX nodes, so only the bookkeeping is measured and no toolkit is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewSyncBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entityCount;
+
+    private GameEngine engine;
+    private List<Node> nodes;
+    private EntityViewSync entityViews;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        engine = BenchmarkWorld.create(entityCount);
+        nodes = new ArrayList<>();
+        entityViews = new EntityViewSync(StubEntityView::new);
+        // the first frame creates all views, the benchmark measures the frames after that
+        entityViews.sync(engine, 0.5, nodes, 0.0, 0.0);
+    }
+
+    @Benchmark
+    public EntityViewSync draw() {
+        entityViews.sync(engine, 0.5, nodes, 0.0, 0.0);
+        return entityViews;
+    }
+
+    private static class StubEntityView implements EntityView {
+        private final Renderable entity;
+        private boolean delete;
+        private double x;
+        private double y;
+
+        StubEntityView(Renderable entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public void update(double screenX, double screenY) {
+            x = screenX;
+            y = screenY;
+            delete = false;
+        }
+
+        @Override
+        public boolean matchesEntity(Renderable entity) {
+            return this.entity.equals(entity);
+        }
+
+        @Override
+        public void markForDelete() {
+            delete = true;
+        }
+
+        @Override
+        public Node getNode() {
+            return null;
+        }
+
+        @Override
+        public boolean isMarkedForDelete() {
+            return delete;
+        }
+
+        @Override
+        public Renderable getRenderable() {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package invaders.engine;
+
+import invaders.config.GameConfig;
+import invaders.config.LevelGenerator;
+import invaders.factory.EnemyProjectile;
+import invaders.gameobject.Enemy;
+import invaders.rendering.Renderable;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies each cheat twice before the next update, as a replay can, and checks that the second one scores nothing
+ */
+public class CheatTest {
+    private static final GameConfig CONFIG = LevelGenerator.generate(2400, 800, 60, 0, 0.5, 4);
+    // long enough for the formation to have shots in the air
+    private static final int TICKS = 240;
+
+    @Test
+    public void removingFastProjectilesTwiceScoresOnce() {
+        assertSecondCheatScoresNothing(GameEngine::cheatRemoveFastProjectiles);
+    }
+
+    @Test
+    public void removingSlowProjectilesTwiceScoresOnce() {
+        assertSecondCheatScoresNothing(GameEngine::cheatRemoveSlowProjectiles);
+    }
+
+    @Test
+    public void removingEnemiesWithFastProjectilesTwiceScoresOnce() {
+        assertSecondCheatScoresNothing(GameEngine::cheatRemoveEnemiesWithFastProjectiles);
+    }
+
+    @Test
+    public void removingEnemiesWithSlowProjectilesTwiceScoresOnce() {
+        assertSecondCheatScoresNothing(GameEngine::cheatRemoveEnemiesWithSlowProjectiles);
+    }
+
+    private static void assertSecondCheatScoresNothing(Consumer<GameEngine> cheat) {
+        GameEngine once = new GameEngine(CONFIG, 4);
+        GameEngine twice = new GameEngine(CONFIG, 4);
+        for (int i = 0; i < TICKS; i++) {
+            once.update();
+            twice.update();
+        }
+        assertTrue(count(once, Enemy.class) > 0 && count(once, EnemyProjectile.class) > 0);
+        int score = once.getScore();
+
+        cheat.accept(once);
+        cheat.accept(twice);
+        cheat.accept(twice);
+
+        assertTrue(once.getScore() > score, "the cheat removed nothing");
+        assertEquals(once.getScore(), twice.getScore());
+        once.update();
+        twice.update();
+        assertEquals(once.getScore(), twice.getScore());
+    }
+
+    private static int count(GameEngine engine, Class<?> type) {
+        int count = 0;
+        for (Renderable renderable : engine.getRenderables()) {
+            if (type.isInstance(renderable) && renderable.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
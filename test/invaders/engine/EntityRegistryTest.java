@@ -0,0 +1,89 @@
+package invaders.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Spawns and despawns a pool of reused objects at random and checks the registry against a plain map after every flush
+ */
+public class EntityRegistryTest {
+    private static final EntityRegistry.Changes<Object> IGNORE = new EntityRegistry.Changes<Object>() {
+        @Override
+        public void removed(int index, Object entity) {
+        }
+
+        @Override
+        public void added(Object entity) {
+        }
+    };
+
+    @Test
+    public void handlesFollowSpawnsAndDespawnsOfPooledObjects() {
+        EntityRegistry<Object> registry = new EntityRegistry<>();
+        Random random = new Random(7);
+        List<Object> pool = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            pool.add(new Object());
+        }
+        Map<Object, Integer> live = new IdentityHashMap<>();
+
+        for (int round = 0; round < 2000; round++) {
+            List<Object> despawned = new ArrayList<>();
+            for (Object entity : new ArrayList<>(live.keySet())) {
+                if (random.nextInt(3) == 0) {
+                    registry.despawn(live.remove(entity));
+                    despawned.add(entity);
+                }
+            }
+            for (int k = random.nextInt(40); k > 0; k--) {
+                Object entity = pool.get(random.nextInt(pool.size()));
+                // a despawned object can come straight back, as pooled projectiles do
+                if (!live.containsKey(entity)) {
+                    live.put(entity, registry.spawn(entity));
+                }
+            }
+            registry.flush(IGNORE);
+
+            assertEquals(live.size(), registry.size());
+            for (Map.Entry<Object, Integer> entry : live.entrySet()) {
+                assertEquals((int) entry.getValue(), registry.getHandle(entry.getKey()));
+                assertSame(entry.getKey(), registry.get(entry.getValue()));
+            }
+            for (Object entity : despawned) {
+                if (!live.containsKey(entity)) {
+                    assertEquals(EntityRegistry.NO_HANDLE, registry.getHandle(entity));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void clearForgetsEveryHandle() {
+        EntityRegistry<Object> registry = new EntityRegistry<>();
+        List<Object> entities = new ArrayList<>();
+        List<Integer> handles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Object entity = new Object();
+            entities.add(entity);
+            handles.add(i % 2 == 0 ? registry.add(entity) : registry.spawn(entity));
+        }
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        for (int i = 0; i < entities.size(); i++) {
+            assertEquals(EntityRegistry.NO_HANDLE, registry.getHandle(entities.get(i)));
+            assertNull(registry.get(handles.get(i)));
+            assertFalse(registry.isValid(handles.get(i)));
+        }
+    }
+}
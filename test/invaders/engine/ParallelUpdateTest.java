@@ -0,0 +1,66 @@
+package invaders.engine;
+
+import invaders.batch.AutoPilot;
+import invaders.rendering.Renderable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays the same seeded game with the object update on one thread and on the fork-join pool and compares every tick
+ */
+public class ParallelUpdateTest {
+    private static final String SCENARIO = "stress_1k";
+    private static final long SEED = 42;
+    private static final int TICKS = 600;
+
+    @Test
+    public void parallelUpdateMatchesSingleThreadedTickByTick() {
+        GameEngine single = new GameEngine(SCENARIO, SEED);
+        GameEngine parallel = new GameEngine(SCENARIO, SEED);
+        parallel.setParallelUpdate(true);
+        // small chunks, so even a small level is split into many tasks
+        parallel.setUpdateChunkSize(16);
+        AutoPilot singlePilot = new AutoPilot();
+        AutoPilot parallelPilot = new AutoPilot();
+
+        for (int tick = 0; tick < TICKS && single.getPlayer().isAlive(); tick++) {
+            singlePilot.play(single);
+            parallelPilot.play(parallel);
+            single.update();
+            parallel.update();
+            assertSameState(single, parallel, tick);
+        }
+        assertTrue(single.getTick() > 100, "the game ended too early to show anything");
+    }
+
+    @Test
+    public void chunkSizeDoesNotChangeTheGame() {
+        GameEngine whole = new GameEngine(SCENARIO, SEED);
+        GameEngine chunked = new GameEngine(SCENARIO, SEED);
+        chunked.setUpdateChunkSize(7);
+        for (int tick = 0; tick < 200; tick++) {
+            whole.update();
+            chunked.update();
+            assertSameState(whole, chunked, tick);
+        }
+    }
+
+    private static void assertSameState(GameEngine expected, GameEngine actual, int tick) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getScore(), actual.getScore(), "score at tick " + tick);
+        assertEquals(expected.getTimeElapsed(), actual.getTimeElapsed(), "time at tick " + tick);
+        List<Renderable> a = expected.getRenderables();
+        List<Renderable> b = actual.getRenderables();
+        assertEquals(a.size(), b.size(), "renderables at tick " + tick);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getClass(), b.get(i).getClass(), "renderable " + i + " at tick " + tick);
+            assertEquals(a.get(i).getPosition().getX(), b.get(i).getPosition().getX(), "x of " + i + " at tick " + tick);
+            assertEquals(a.get(i).getPosition().getY(), b.get(i).getPosition().getY(), "y of " + i + " at tick " + tick);
+            assertEquals(a.get(i).getHealth(), b.get(i).getHealth(), "health of " + i + " at tick " + tick);
+        }
+    }
+}
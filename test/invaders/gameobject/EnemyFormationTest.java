@@ -0,0 +1,42 @@
+package invaders.gameobject;
+
+import invaders.config.LevelGenerator;
+import invaders.engine.GameEngine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnemyFormationTest {
+
+    @Test
+    public void killedEnemiesLeaveTheirColumnWithoutARebuild() {
+        // three rows of twenty columns
+        GameEngine engine = new GameEngine(LevelGenerator.generate(920, 800, 60, 0, 0.5, 1), 1);
+        engine.update();
+        EnemyFormation formation = engine.getFormation();
+        int columns = formation.getColumnCount();
+        assertTrue(columns > 1);
+
+        for (int row = 0; row < 3; row++) {
+            Enemy lowest = formation.getLowest(0);
+            assertNotNull(lowest, "row " + row);
+            double x = lowest.getPosition().getX();
+            double y = lowest.getPosition().getY();
+            engine.damage(lowest, lowest.getHealth());
+            engine.update();
+
+            assertEquals(columns, formation.getColumnCount());
+            Enemy next = formation.getLowest(0);
+            if (next != null) {
+                assertTrue(next.isAlive());
+                assertTrue(next.getPosition().getY() < y);
+                assertEquals(x, next.getPosition().getX(), lowest.getWidth() / 2);
+            }
+        }
+        assertNull(formation.getLowest(0));
+        assertNotNull(formation.getLowest(1));
+    }
+}
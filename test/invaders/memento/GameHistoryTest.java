@@ -0,0 +1,105 @@
+package invaders.memento;
+
+import invaders.config.LevelGenerator;
+import invaders.engine.GameEngine;
+import invaders.factory.EnemyProjectile;
+import invaders.gameobject.Enemy;
+import invaders.rendering.Renderable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameHistoryTest {
+    private static final String DIFFICULTY = "hard";
+
+    @Test
+    public void restoresAKeyframe() {
+        GameEngine engine = new GameEngine(DIFFICULTY);
+        play(engine, 120);
+        List<String> saved = snapshot(engine);
+        engine.saveStateToMemento();
+        assertEquals(1, engine.getHistory().getKeyframeCount());
+
+        play(engine, 200);
+        engine.restoreStateFromMemento();
+
+        assertEquals(saved, snapshot(engine));
+        assertTrue(engine.getHistory().isEmpty());
+    }
+
+    @Test
+    public void restoresDeltasBackToTheirKeyframe() {
+        GameEngine engine = new GameEngine(DIFFICULTY);
+        List<List<String>> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            play(engine, 60);
+            saved.add(snapshot(engine));
+            engine.saveStateToMemento();
+        }
+        // one keyframe, then four deltas on top of it
+        assertEquals(1, engine.getHistory().getKeyframeCount());
+
+        play(engine, 100);
+        for (int i = saved.size() - 1; i >= 0; i--) {
+            engine.restoreStateFromMemento();
+            assertEquals(saved.get(i), snapshot(engine), "slot " + i);
+        }
+    }
+
+    @Test
+    public void reusesTheIdsOfObjectsThatAreGone() {
+        // a small formation in a wide arena: it keeps firing for a long time and rarely hits the player
+        GameEngine engine = new GameEngine(LevelGenerator.generate(2400, 800, 40, 0, 0.5, 3), 3);
+        GameHistory history = engine.getHistory();
+        int mostSaved = 0;
+        for (int i = 0; i < 3000 && engine.getPlayer().isAlive(); i++) {
+            engine.update();
+            engine.saveStateToMemento();
+            // every undo brings the enemies and projectiles back as new objects
+            if (i % 5 == 4) {
+                engine.restoreStateFromMemento();
+            }
+            // the snapshot ends with the score line
+            mostSaved = Math.max(mostSaved, snapshot(engine).size() - 1);
+        }
+        // a new id is only handed out when every id is held by an object of the same save
+        assertTrue(history.getIdCount() <= mostSaved,
+                "ids: " + history.getIdCount() + ", most objects in one save: " + mostSaved);
+
+        // ids handed out again still restore the right objects
+        engine.saveStateToMemento();
+        List<String> saved = snapshot(engine);
+        play(engine, 50);
+        engine.restoreStateFromMemento();
+        assertEquals(saved, snapshot(engine));
+    }
+
+    private static void play(GameEngine engine, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            engine.update();
+        }
+    }
+
+    // what the history keeps: enemies and live enemy projectiles, in renderable order, plus score and time
+    private static List<String> snapshot(GameEngine engine) {
+        List<String> entities = new ArrayList<>();
+        for (Renderable renderable : engine.getRenderables()) {
+            if (renderable instanceof Enemy) {
+                Enemy enemy = (Enemy) renderable;
+                entities.add("enemy " + enemy.getPosition().getX() + " " + enemy.getPosition().getY() + " "
+                        + enemy.getHealth() + " " + enemy.getxVel() + " " + enemy.getSprite() + " "
+                        + enemy.getProjectileSprite() + " " + enemy.getProjectileStrategy().getClass().getSimpleName());
+            } else if (renderable instanceof EnemyProjectile && renderable.isAlive()) {
+                EnemyProjectile projectile = (EnemyProjectile) renderable;
+                entities.add("projectile " + projectile.getPosition().getX() + " " + projectile.getPosition().getY() + " "
+                        + projectile.getSprite() + " " + projectile.getStrategy().getClass().getSimpleName());
+            }
+        }
+        entities.add("score " + engine.getScore() + " time " + engine.getTimeElapsed());
+        return entities;
+    }
+}
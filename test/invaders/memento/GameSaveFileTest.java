@@ -0,0 +1,148 @@
+package invaders.memento;
+
+import invaders.config.GameConfig;
+import invaders.config.LevelGenerator;
+import invaders.engine.GameEngine;
+import invaders.factory.EnemyProjectile;
+import invaders.gameobject.Bunker;
+import invaders.gameobject.Enemy;
+import invaders.rendering.Renderable;
+import invaders.rendering.Sprite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameSaveFileTest {
+    private static final GameConfig CONFIG = LevelGenerator.generate(2400, 800, 60, 8, 0.5, 5);
+
+    private Path file;
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void loadRestoresEveryField() throws IOException {
+        GameEngine saved = new GameEngine(CONFIG, 11);
+        play(saved, 400);
+        file = Files.createTempFile("invaders", ".sav");
+        saved.saveStateToFile(file);
+
+        // another seed, so the random state can only match if it came from the file
+        GameEngine loaded = new GameEngine(CONFIG, 12);
+        loaded.loadStateFromFile(file);
+
+        assertSameGame(saved, loaded);
+        assertEquals(saved.getShotTimer(), loaded.getShotTimer());
+        assertEquals(saved.getTick(), loaded.getTick());
+        assertEquals(saved.getRandomState(), loaded.getRandomState());
+    }
+
+    @Test
+    public void loadedGamePlaysOnLikeTheSavedOne() throws IOException {
+        GameEngine saved = new GameEngine(CONFIG, 21);
+        play(saved, 300);
+        file = Files.createTempFile("invaders", ".sav");
+        saved.saveStateToFile(file);
+        GameEngine loaded = new GameEngine(CONFIG, 22);
+        loaded.loadStateFromFile(file);
+
+        for (int i = 0; i < 900 && saved.getPlayer().isAlive(); i++) {
+            play(saved, 1);
+            play(loaded, 1);
+            assertSameGame(saved, loaded);
+            assertEquals(saved.getFormation().getDirection(), loaded.getFormation().getDirection());
+        }
+        assertTrue(saved.getTick() > 600, "the game ended too early to show anything");
+    }
+
+    @Test
+    public void rejectsTruncatedAndCorruptFiles() throws IOException {
+        GameEngine saved = new GameEngine(CONFIG, 31);
+        play(saved, 100);
+        file = Files.createTempFile("invaders", ".sav");
+        saved.saveStateToFile(file);
+        byte[] bytes = Files.readAllBytes(file);
+        // magic, version, game size, score, time, shot timer, tick, random state and direction come first
+        int spriteCount = 4 + 2 + 4 * 4 + 4 + 8 + 8 + 1;
+
+        assertRejected(Arrays.copyOf(bytes, bytes.length / 2));
+        assertRejected(with(bytes, spriteCount, -1, -1, -1, -1));
+        // the length of the first sprite path, above 32767 so it would be negative as a short
+        assertRejected(with(bytes, spriteCount + 4, 0xFF, 0xF0));
+    }
+
+    private void assertRejected(byte[] bytes) throws IOException {
+        Files.write(file, bytes);
+        GameEngine loaded = new GameEngine(CONFIG, 32);
+        assertThrows(IOException.class, () -> loaded.loadStateFromFile(file));
+    }
+
+    private static byte[] with(byte[] bytes, int offset, int... values) {
+        byte[] changed = bytes.clone();
+        for (int i = 0; i < values.length; i++) {
+            changed[offset + i] = (byte) values[i];
+        }
+        return changed;
+    }
+
+    // shoots every 50 ticks, the same in every engine
+    private static void play(GameEngine engine, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            if (engine.getTick() % 50 == 0) {
+                engine.shootPressed();
+            }
+            engine.update();
+        }
+    }
+
+    private static void assertSameGame(GameEngine expected, GameEngine actual) {
+        assertEquals(expected.getScore(), actual.getScore(), "score");
+        assertEquals(expected.getTimeElapsed(), actual.getTimeElapsed(), "time");
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    private static List<String> describe(GameEngine engine) {
+        List<String> lines = new ArrayList<>();
+        for (Renderable renderable : engine.getRenderables()) {
+            StringBuilder line = new StringBuilder(renderable.getClass().getSimpleName())
+                    .append(' ').append(renderable.getPosition().getX())
+                    .append(' ').append(renderable.getPosition().getY())
+                    .append(' ').append(renderable.getHealth())
+                    .append(' ').append(describe(renderable.getSprite()));
+            if (renderable instanceof Enemy) {
+                Enemy enemy = (Enemy) renderable;
+                line.append(' ').append(enemy.getxVel())
+                        .append(' ').append(enemy.getProjectileStrategy().getClass().getSimpleName())
+                        .append(' ').append(describe(enemy.getProjectileSprite()))
+                        .append(' ').append(enemy.getEnemyProjectiles().size());
+            } else if (renderable instanceof EnemyProjectile) {
+                line.append(' ').append(((EnemyProjectile) renderable).getStrategy().getClass().getSimpleName());
+            } else if (renderable instanceof Bunker) {
+                Bunker bunker = (Bunker) renderable;
+                line.append(' ').append(bunker.getState().getClass().getSimpleName())
+                        .append(' ').append(bunker.getWidth())
+                        .append(' ').append(bunker.getHeight());
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static String describe(Sprite sprite) {
+        return sprite == null ? "-" : sprite.getPath() + " " + sprite.getWidth() + "x" + sprite.getHeight();
+    }
+}
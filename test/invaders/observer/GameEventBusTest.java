@@ -0,0 +1,88 @@
+package invaders.observer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameEventBusTest {
+
+    @Test
+    public void dispatchesInPublishOrder() {
+        GameEventBus bus = new GameEventBus();
+        List<String> seen = new ArrayList<>();
+        bus.addListener(new GameEventListener() {
+            @Override
+            public void onScore(int points) {
+                seen.add("score " + points);
+            }
+
+            @Override
+            public void onEntityDestroyed(int category, double x, double y) {
+                seen.add("destroyed " + category + " " + x + " " + y);
+            }
+        });
+        bus.publishScore(3);
+        bus.publishEntityDestroyed(2, 10.5, 20.5);
+        bus.publishScore(7);
+        bus.dispatch();
+
+        assertEquals(List.of("score 3", "destroyed 2 10.5 20.5", "score 7"), seen);
+        assertEquals(0, bus.getPendingCount());
+    }
+
+    @Test
+    public void listenerGrowingTheBufferMidDispatchKeepsTheCurrentEvent() {
+        GameEventBus bus = new GameEventBus();
+        int burst = bus.getCapacity() * 2;
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        List<String> destroyed = new ArrayList<>();
+        // the first listener publishes enough events while handling the first one to force at least one grow
+        bus.addListener(new GameEventListener() {
+            @Override
+            public void onScore(int points) {
+                first.add(points);
+                if (points == -1) {
+                    for (int i = 0; i < burst; i++) {
+                        bus.publishScore(i);
+                    }
+                }
+            }
+        });
+        bus.addListener(new GameEventListener() {
+            @Override
+            public void onScore(int points) {
+                second.add(points);
+            }
+
+            @Override
+            public void onEntityDestroyed(int category, double x, double y) {
+                destroyed.add(category + " " + x + " " + y);
+            }
+        });
+
+        // fill the ring completely, so the burst has to grow it
+        int capacity = bus.getCapacity();
+        bus.publishScore(-1);
+        for (int i = 1; i < capacity; i++) {
+            bus.publishEntityDestroyed(i, i, -i);
+        }
+        bus.dispatch();
+
+        assertTrue(bus.getCapacity() > capacity);
+        assertEquals(-1, (int) first.get(0));
+        assertEquals(-1, (int) second.get(0));
+        assertEquals(burst + 1, second.size());
+        for (int i = 0; i < burst; i++) {
+            assertEquals(i, (int) second.get(i + 1));
+        }
+        assertEquals(capacity - 1, destroyed.size());
+        for (int i = 1; i < capacity; i++) {
+            assertEquals(i + " " + (double) i + " " + (double) -i, destroyed.get(i - 1));
+        }
+    }
+}
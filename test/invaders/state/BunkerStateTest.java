@@ -0,0 +1,43 @@
+package invaders.state;
+
+import invaders.builder.BunkerBuilder;
+import invaders.builder.Director;
+import invaders.config.BunkerSpec;
+import invaders.gameobject.Bunker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class BunkerStateTest {
+
+    @Test
+    public void bunkersOfTheShippedSizeShareTheDamagedSprites() {
+        Bunker first = bunker(50, 30);
+        Bunker second = bunker(50, 30);
+        first.takeDamage(1);
+        second.takeDamage(1);
+        assertSame(first.getSprite(), second.getSprite());
+        first.takeDamage(1);
+        second.takeDamage(1);
+        assertSame(first.getSprite(), second.getSprite());
+        assertEquals(2, first.getState().getLevel());
+    }
+
+    @Test
+    public void otherBunkersGetDamagedSpritesOfTheirOwnSize() {
+        Bunker bunker = bunker(120, 45);
+        bunker.takeDamage(1);
+        assertEquals(BunkerSprites.YELLOW.getPath(), bunker.getSprite().getPath());
+        assertEquals(120, bunker.getSprite().getWidth());
+        assertEquals(45, bunker.getSprite().getHeight());
+        bunker.takeDamage(1);
+        assertEquals(BunkerSprites.RED.getPath(), bunker.getSprite().getPath());
+        assertEquals(120, bunker.getSprite().getWidth());
+        assertEquals(45, bunker.getSprite().getHeight());
+    }
+
+    private static Bunker bunker(int width, int height) {
+        return new Director().constructBunker(new BunkerBuilder(), new BunkerSpec(0, 0, width, height));
+    }
+}